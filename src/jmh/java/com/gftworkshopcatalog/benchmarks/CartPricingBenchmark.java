@@ -0,0 +1,49 @@
+package com.gftworkshopcatalog.benchmarks;
+
+import com.gftworkshopcatalog.api.dto.CartProductDTO;
+import com.gftworkshopcatalog.model.ProductEntity;
+import com.gftworkshopcatalog.services.impl.ProductServiceImpl;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CartPricingBenchmark {
+
+    @Param({"1", "50", "1000"})
+    private int cartLines;
+
+    private ConfigurableApplicationContext context;
+    private ProductServiceImpl productService;
+    private List<CartProductDTO> cart;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = CatalogBenchmarkContext.start("cartPricingBenchmark");
+        productService = context.getBean(ProductServiceImpl.class);
+        cart = IntStream.range(0, cartLines)
+                .mapToObj(line -> CartProductDTO.builder()
+                        .productId((long) (line % CatalogBenchmarkContext.CATALOG_SIZE) + 1)
+                        .quantity(line % 10 + 1)
+                        .build())
+                .toList();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<ProductEntity> calculateListDiscountedPrice() {
+        return productService.calculateListDiscountedPrice(cart);
+    }
+}
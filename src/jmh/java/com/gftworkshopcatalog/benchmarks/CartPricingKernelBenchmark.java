@@ -0,0 +1,117 @@
+package com.gftworkshopcatalog.benchmarks;
+
+import com.gftworkshopcatalog.model.ProductEntity;
+import com.gftworkshopcatalog.model.PromotionEntity;
+import com.gftworkshopcatalog.operations.CartLines;
+import com.gftworkshopcatalog.operations.CategoryDiscounts;
+import com.gftworkshopcatalog.operations.ProductOperations;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cart pricing without the database: entityPerLine prices each line through ProductEntity copies as the service
+ * used to, primitiveKernel runs ProductOperations.priceCartLines and only builds the response entities.
+ * Run with -prof gc to compare allocation per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CartPricingKernelBenchmark {
+
+    private static final int CATEGORIES = 6;
+
+    @Param({"1", "50", "1000"})
+    private int cartLines;
+
+    private ProductEntity[] products;
+    private int[] quantities;
+    private Map<Long, PromotionEntity> seasonalPromotions;
+    private Map<Long, PromotionEntity> volumePromotions;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        LocalDate today = LocalDate.now();
+        products = new ProductEntity[cartLines];
+        quantities = new int[cartLines];
+        for (int line = 0; line < cartLines; line++) {
+            products[line] = new ProductEntity((long) line + 1, "Product " + line, "Description", 10.0 + line % 90,
+                    (long) line % CATEGORIES + 1, 0.5 + line % 7, 100, 10);
+            quantities[line] = line % 10 + 1;
+        }
+        seasonalPromotions = new HashMap<>();
+        volumePromotions = new HashMap<>();
+        for (long categoryId = 1; categoryId <= CATEGORIES; categoryId++) {
+            if (categoryId % 2 == 0) {
+                seasonalPromotions.put(categoryId, new PromotionEntity(categoryId, categoryId, 0.15, "SEASONAL", 1, today, today, true));
+            } else {
+                volumePromotions.put(categoryId, new PromotionEntity(categoryId, categoryId, 0.20, "VOLUME", 5, today, today, true));
+            }
+        }
+    }
+
+    @Benchmark
+    public List<ProductEntity> entityPerLine() {
+        List<ProductEntity> discountedProducts = new ArrayList<>(cartLines);
+        for (int line = 0; line < cartLines; line++) {
+            ProductEntity product = ProductOperations.withEffectivePrice(products[line],
+                    seasonalPromotions.get(products[line].getCategoryId()));
+            PromotionEntity promotion = volumePromotions.get(product.getCategoryId());
+            double unitPrice = product.getEffectivePrice();
+            if (promotion != null && promotion.getIsActive() && "VOLUME".equalsIgnoreCase(promotion.getPromotionType())) {
+                unitPrice = ProductOperations.calculateNewPrice(unitPrice, promotion, quantities[line]);
+            }
+            ProductEntity discountedProduct = discountedProduct(product, unitPrice * quantities[line], product.getWeight() * quantities[line]);
+            // The service boxed the line total separately for the effective price
+            discountedProduct.setEffectivePrice(unitPrice * quantities[line]);
+            discountedProducts.add(discountedProduct);
+        }
+        return discountedProducts;
+    }
+
+    @Benchmark
+    public List<ProductEntity> primitiveKernel() {
+        CartLines lines = new CartLines(cartLines);
+        Map<Long, Integer> categorySlots = new HashMap<>();
+        for (int line = 0; line < cartLines; line++) {
+            ProductEntity product = products[line];
+            int categorySlot = categorySlots.computeIfAbsent(product.getCategoryId(), categoryId -> categorySlots.size());
+            lines.set(line, product.getPrice(), product.getWeight(), quantities[line], categorySlot);
+        }
+        CategoryDiscounts discounts = new CategoryDiscounts(categorySlots.size());
+        categorySlots.forEach((categoryId, categorySlot) -> {
+            discounts.setSeasonalPromotion(categorySlot, seasonalPromotions.get(categoryId));
+            discounts.setVolumePromotion(categorySlot, volumePromotions.get(categoryId));
+        });
+        ProductOperations.priceCartLines(lines, discounts);
+
+        List<ProductEntity> discountedProducts = new ArrayList<>(cartLines);
+        for (int line = 0; line < cartLines; line++) {
+            ProductEntity discountedProduct = discountedProduct(products[line], lines.totalPrice(line), lines.totalWeight(line));
+            discountedProducts.add(discountedProduct);
+        }
+        return discountedProducts;
+    }
+
+    private static ProductEntity discountedProduct(ProductEntity product, double totalPrice, double totalWeight) {
+        ProductEntity discountedProduct = new ProductEntity();
+        discountedProduct.setId(product.getId());
+        discountedProduct.setName(product.getName());
+        discountedProduct.setDescription(product.getDescription());
+        discountedProduct.setPrice(totalPrice);
+        discountedProduct.setEffectivePrice(discountedProduct.getPrice());
+        discountedProduct.setCategoryId(product.getCategoryId());
+        discountedProduct.setWeight(totalWeight);
+        discountedProduct.setCurrentStock(product.getCurrentStock());
+        discountedProduct.setMinStock(product.getMinStock());
+        return discountedProduct;
+    }
+}
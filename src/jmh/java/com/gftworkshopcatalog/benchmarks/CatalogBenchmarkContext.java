@@ -0,0 +1,44 @@
+package com.gftworkshopcatalog.benchmarks;
+
+import com.gftworkshopcatalog.CatalogServiceWorkshopApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Boots the catalog against its own embedded H2 database, seeded by schema.sql and data.sql, either without a web
+ * server or with one on a random port.
+ */
+final class CatalogBenchmarkContext {
+
+    static final int CATALOG_SIZE = 40;
+
+    private CatalogBenchmarkContext() {
+    }
+
+    static ConfigurableApplicationContext start(String databaseName, String... extraArgs) {
+        return run(WebApplicationType.NONE, databaseName, extraArgs);
+    }
+
+    static ConfigurableApplicationContext startServer(String databaseName, String... extraArgs) {
+        List<String> args = new ArrayList<>(List.of(extraArgs));
+        args.add("--server.port=0");
+        return run(WebApplicationType.SERVLET, databaseName, args.toArray(String[]::new));
+    }
+
+    private static ConfigurableApplicationContext run(WebApplicationType webApplicationType, String databaseName, String... extraArgs) {
+        List<String> args = new ArrayList<>(List.of(
+                "--spring.datasource.url=jdbc:h2:mem:" + databaseName + ";DB_CLOSE_ON_EXIT=FALSE",
+                "--spring.jpa.show-sql=false",
+                "--spring.devtools.restart.enabled=false",
+                "--logging.level.root=WARN"));
+        args.addAll(List.of(extraArgs));
+        return new SpringApplicationBuilder(CatalogServiceWorkshopApplication.class)
+                .web(webApplicationType)
+                .logStartupInfo(false)
+                .run(args.toArray(String[]::new));
+    }
+}
@@ -0,0 +1,64 @@
+package com.gftworkshopcatalog.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gftworkshopcatalog.services.CatalogExportService;
+import com.gftworkshopcatalog.services.ProductImportService;
+import com.gftworkshopcatalog.services.impl.ProductServiceImpl;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Compares the CBOR catalog export with serializing GET /products as a JSON array, both written to a discarding stream.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CatalogExportBenchmark {
+
+    @Param({"0", "10000"})
+    private int importedProducts;
+
+    private ConfigurableApplicationContext context;
+    private CatalogExportService catalogExportService;
+    private ProductServiceImpl productService;
+    private ObjectMapper objectMapper;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = CatalogBenchmarkContext.start("catalogExportBenchmark");
+        catalogExportService = context.getBean(CatalogExportService.class);
+        productService = context.getBean(ProductServiceImpl.class);
+        objectMapper = context.getBean(ObjectMapper.class);
+        String csv = IntStream.range(0, importedProducts)
+                .mapToObj(i -> "Product " + i + ",Comfortable and lightweight product number " + i + "," + (10 + i % 90) + "," + (i % 6 + 1) + ",1.5,100,10")
+                .collect(Collectors.joining("\n", "name,description,price,categoryId,weight,currentStock,minStock\n", ""));
+        context.getBean(ProductImportService.class).importProducts(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), ProductImportService.Format.CSV);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void exportCbor() {
+        catalogExportService.exportCatalog(OutputStream.nullOutputStream());
+    }
+
+    @Benchmark
+    public void listAllProductsJson() throws IOException {
+        objectMapper.writeValue(OutputStream.nullOutputStream(), productService.findAllProducts());
+    }
+}
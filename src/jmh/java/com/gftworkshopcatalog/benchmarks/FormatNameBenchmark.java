@@ -0,0 +1,30 @@
+package com.gftworkshopcatalog.benchmarks;
+
+import com.gftworkshopcatalog.services.impl.CategoryServiceImpl;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FormatNameBenchmark {
+
+    @Param({"pu", "SWIMMING GOGGLES", "science fiction novel"})
+    private String name;
+
+    private CategoryServiceImpl categoryService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        categoryService = new CategoryServiceImpl(null, null, null, null, null);
+    }
+
+    @Benchmark
+    public String formatName() {
+        return categoryService.formatName(name);
+    }
+}
@@ -0,0 +1,41 @@
+package com.gftworkshopcatalog.benchmarks;
+
+import com.gftworkshopcatalog.api.dto.ProductSuggestionDTO;
+import com.gftworkshopcatalog.cache.ProductNameIndex;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProductNameIndexBenchmark {
+
+    @Param({"p", "pu", "puzzle"})
+    private String prefix;
+
+    private ConfigurableApplicationContext context;
+    private ProductNameIndex productNameIndex;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = CatalogBenchmarkContext.start("productNameIndexBenchmark");
+        productNameIndex = context.getBean(ProductNameIndex.class);
+        productNameIndex.rebuild();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<ProductSuggestionDTO> findByPrefix() {
+        return productNameIndex.findByPrefix(2L, prefix, 10);
+    }
+}
@@ -0,0 +1,70 @@
+package com.gftworkshopcatalog.benchmarks;
+
+import com.gftworkshopcatalog.exceptions.ConflictProduct;
+import com.gftworkshopcatalog.model.ProductEntity;
+import com.gftworkshopcatalog.services.impl.ProductServiceImpl;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parallel price updates through the optimistic, retrying service path. With one hot product every writer
+ * contends for the same row version; with the whole catalog conflicts are rare. Updates that still conflict
+ * after the retries are counted as failed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(8)
+@Fork(1)
+public class ProductUpdateContentionBenchmark {
+
+    @Param({"1", "40"})
+    private int hotProducts;
+
+    private ConfigurableApplicationContext context;
+    private ProductServiceImpl productServiceImpl;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Outcomes {
+        public long updated;
+        public long failed;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            updated = 0;
+            failed = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = CatalogBenchmarkContext.start("productUpdateContentionBenchmark",
+                "--logging.level.com.gftworkshopcatalog=ERROR");
+        productServiceImpl = context.getBean(ProductServiceImpl.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public ProductEntity updateProductPrice(Outcomes outcomes) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long productId = random.nextInt(hotProducts) + 1L;
+        try {
+            ProductEntity updated = productServiceImpl.updateProductPrice(productId, random.nextInt(1, 10_000) / 100.0);
+            outcomes.updated++;
+            return updated;
+        } catch (ConflictProduct e) {
+            outcomes.failed++;
+            return null;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.gftworkshopcatalog.benchmarks;
+
+import com.gftworkshopcatalog.model.ProductEntity;
+import com.gftworkshopcatalog.repositories.ProductRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RepositoryBenchmark {
+
+    private ConfigurableApplicationContext context;
+    private ProductRepository productRepository;
+    private List<Long> productIds;
+    private long nextId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = CatalogBenchmarkContext.start("repositoryBenchmark");
+        productRepository = context.getBean(ProductRepository.class);
+        productIds = LongStream.rangeClosed(1, 20).boxed().toList();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Optional<ProductEntity> findById() {
+        nextId = nextId % CatalogBenchmarkContext.CATALOG_SIZE + 1;
+        return productRepository.findById(nextId);
+    }
+
+    @Benchmark
+    public List<ProductEntity> findAllById() {
+        return productRepository.findAllById(productIds);
+    }
+
+    @Benchmark
+    public List<ProductEntity> findByCategoryId() {
+        return productRepository.findByCategoryId(2L);
+    }
+
+    @Benchmark
+    public List<ProductEntity> findByCategoryIdAndNameStartsWith() {
+        return productRepository.findByCategoryIdAndNameStartsWith(2L, "pu%");
+    }
+}
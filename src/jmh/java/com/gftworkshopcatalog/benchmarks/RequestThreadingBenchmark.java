@@ -0,0 +1,65 @@
+package com.gftworkshopcatalog.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Load test of the servlet stack over HTTP, comparing Tomcat's platform thread pool with virtual threads on a
+ * request that blocks on JDBC every time. Sample mode reports throughput together with p99 and p99.9 latency.
+ * The virtual mode needs a Java 21 build: mvn -Pbenchmark,java21 verify -Djmh.options="RequestThreadingBenchmark".
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(64)
+@Fork(1)
+public class RequestThreadingBenchmark {
+
+    private static final int CATEGORIES = 6;
+
+    @Param({"platform", "virtual"})
+    private String threading;
+
+    @Param({"10"})
+    private int connectionPoolSize;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient httpClient;
+    private String baseUrl;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        boolean virtual = "virtual".equals(threading);
+        if (virtual && Runtime.version().feature() < 21) {
+            throw new IllegalStateException("Virtual threads need Java 21, run with -Pbenchmark,java21");
+        }
+        context = CatalogBenchmarkContext.startServer("requestThreadingBenchmark",
+                "--spring.threads.virtual.enabled=" + virtual,
+                "--spring.datasource.hikari.maximum-pool-size=" + connectionPoolSize,
+                "--logging.level.com.gftworkshopcatalog=ERROR");
+        baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port") + "/catalog";
+        httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int listProductsByCategory() throws IOException, InterruptedException {
+        long categoryId = ThreadLocalRandom.current().nextInt(CATEGORIES) + 1L;
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/categories/" + categoryId + "/products")).build();
+        return httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+}
@@ -0,0 +1,72 @@
+package com.gftworkshopcatalog.benchmarks;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gftworkshopcatalog.config.JacksonConfig;
+import com.gftworkshopcatalog.model.ProductEntity;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+/**
+ * Serialization and parsing cost of a product list per wire format; the payload size of each format is printed
+ * once per trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+
+    private static final TypeReference<List<ProductEntity>> PRODUCT_LIST = new TypeReference<>() {};
+
+    @Param({"1", "40", "1000"})
+    private int products;
+
+    @Param({"json", "smile", "cbor"})
+    private String format;
+
+    private ObjectMapper objectMapper;
+    private List<ProductEntity> productList;
+    private byte[] payload;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        JacksonConfig jacksonConfig = new JacksonConfig();
+        objectMapper = switch (format) {
+            case "smile" -> jacksonConfig.smileMapper();
+            case "cbor" -> jacksonConfig.cborMapper();
+            default -> jacksonConfig.objectMapper();
+        };
+        productList = LongStream.rangeClosed(1, products)
+                .mapToObj(id -> ProductEntity.builder()
+                        .id(id)
+                        .name("Product " + id)
+                        .description("Comfortable and lightweight product number " + id)
+                        .price(10.0 + id % 90)
+                        .effectivePrice(10.0 + id % 90)
+                        .categoryId(id % 6 + 1)
+                        .weight(0.5 + id % 5)
+                        .currentStock((int) (id % 200))
+                        .minStock(10)
+                        .build())
+                .toList();
+        payload = objectMapper.writeValueAsBytes(productList);
+        System.out.printf("%n%s payload for %d products: %d bytes%n", format, products, payload.length);
+    }
+
+    @Benchmark
+    public byte[] writeProductList() throws IOException {
+        return objectMapper.writeValueAsBytes(productList);
+    }
+
+    @Benchmark
+    public List<ProductEntity> readProductList() throws IOException {
+        return objectMapper.readValue(payload, PRODUCT_LIST);
+    }
+}
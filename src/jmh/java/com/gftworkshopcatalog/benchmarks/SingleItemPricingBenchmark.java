@@ -0,0 +1,54 @@
+package com.gftworkshopcatalog.benchmarks;
+
+import com.gftworkshopcatalog.model.PromotionEntity;
+import com.gftworkshopcatalog.operations.ProductOperations;
+import com.gftworkshopcatalog.services.impl.ProductServiceImpl;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SingleItemPricingBenchmark {
+
+    private ConfigurableApplicationContext context;
+    private ProductServiceImpl productService;
+    private PromotionEntity volumePromotion;
+    private double originalPrice;
+    private int quantity;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = CatalogBenchmarkContext.start("singleItemPricingBenchmark");
+        productService = context.getBean(ProductServiceImpl.class);
+        volumePromotion = PromotionEntity.builder()
+                .categoryId(2L)
+                .discount(0.20)
+                .promotionType("VOLUME")
+                .volumeThreshold(5)
+                .isActive(true)
+                .build();
+        originalPrice = 100.0;
+        quantity = 5;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public double calculateNewPrice() {
+        return ProductOperations.calculateNewPrice(originalPrice, volumePromotion, quantity);
+    }
+
+    @Benchmark
+    public double calculateDiscountedPrice() {
+        return productService.calculateDiscountedPrice(2L, quantity);
+    }
+}
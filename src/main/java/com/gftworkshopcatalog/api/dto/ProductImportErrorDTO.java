@@ -0,0 +1,15 @@
+package com.gftworkshopcatalog.api.dto;
+
+import lombok.*;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Generated
+public class ProductImportErrorDTO {
+
+    private long row;
+    private String message;
+
+}
@@ -0,0 +1,18 @@
+package com.gftworkshopcatalog.api.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Generated
+public class ProductImportResultDTO {
+
+    private long imported;
+    private long failed;
+    private List<ProductImportErrorDTO> errors;
+
+}
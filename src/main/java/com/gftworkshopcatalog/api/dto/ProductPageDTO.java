@@ -0,0 +1,18 @@
+package com.gftworkshopcatalog.api.dto;
+
+import com.gftworkshopcatalog.model.ProductEntity;
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Generated
+public class ProductPageDTO {
+
+    private List<ProductEntity> items;
+    private Long next;
+
+}
@@ -0,0 +1,16 @@
+package com.gftworkshopcatalog.api.dto;
+
+import com.gftworkshopcatalog.model.ProductEntity;
+import lombok.*;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Generated
+public class ProductSearchHitDTO {
+
+    private ProductEntity product;
+    private double score;
+
+}
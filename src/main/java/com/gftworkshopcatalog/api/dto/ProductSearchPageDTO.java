@@ -0,0 +1,19 @@
+package com.gftworkshopcatalog.api.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Generated
+public class ProductSearchPageDTO {
+
+    private List<ProductSearchHitDTO> items;
+    private long total;
+    private int page;
+    private int size;
+
+}
@@ -0,0 +1,15 @@
+package com.gftworkshopcatalog.api.dto;
+
+import lombok.*;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Generated
+public class ProductSuggestionDTO {
+
+    private Long productId;
+    private String name;
+
+}
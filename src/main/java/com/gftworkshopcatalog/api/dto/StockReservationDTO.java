@@ -0,0 +1,15 @@
+package com.gftworkshopcatalog.api.dto;
+
+import lombok.*;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Generated
+public class StockReservationDTO {
+
+    private Long productId;
+    private Integer quantity;
+
+}
@@ -0,0 +1,16 @@
+package com.gftworkshopcatalog.api.dto;
+
+import lombok.*;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Generated
+public class StockReservationResultDTO {
+
+    private Long productId;
+    private Integer quantity;
+    private Integer currentStock;
+
+}
@@ -0,0 +1,124 @@
+package com.gftworkshopcatalog.cache;
+
+import com.gftworkshopcatalog.model.PromotionEntity;
+import com.gftworkshopcatalog.repositories.PromotionRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps the promotions that are active today grouped by category, so price lookups never hit the database.
+ * The index is an immutable snapshot swapped atomically; it is rebuilt when promotions are written or change
+ * state, and lazily on the first read after the next start or end date of a known promotion.
+ * Rebuilds are serialized so a slow rebuild cannot replace the snapshot of a later one with older rows, and readers
+ * that find the snapshot expired share a single rebuild.
+ */
+@Slf4j
+@Component
+public class ActivePromotionIndex {
+
+    private final PromotionRepository promotionRepository;
+    private final Clock clock;
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>();
+    private final SingleFlight<LocalDate, Snapshot> expiredRebuilds;
+
+    public ActivePromotionIndex(PromotionRepository promotionRepository, Clock clock, MeterRegistry meterRegistry) {
+        this.promotionRepository = promotionRepository;
+        this.clock = clock;
+        this.expiredRebuilds = new SingleFlight<>("active-promotions", meterRegistry);
+    }
+
+    /**
+     * Looks the promotion up in the current snapshot; see {@link Snapshot#findActivePromotion} for which one wins.
+     */
+    public PromotionEntity findActivePromotionByCategoryIdAndType(Long categoryId, String promotionType) {
+        return currentSnapshot().findActivePromotion(categoryId, promotionType);
+    }
+
+    /**
+     * Returns the snapshot for today, rebuilding it from the database first when it has expired.
+     */
+    public Snapshot currentSnapshot() {
+        Snapshot current = snapshot.get();
+        if (current == null || isExpired(current)) {
+            return expiredRebuilds.load(LocalDate.now(clock), today -> refreshExpired());
+        }
+        return current;
+    }
+
+    /**
+     * Returns the snapshot for today without ever touching the database, or null when it has to be rebuilt first.
+     */
+    public Snapshot findValidSnapshot() {
+        Snapshot current = snapshot.get();
+        return current == null || isExpired(current) ? null : current;
+    }
+
+    public synchronized void refresh() {
+        Snapshot rebuilt = build(LocalDate.now(clock));
+        snapshot.set(rebuilt);
+        log.info("Active promotion index rebuilt for {} categories, valid until {}",
+                rebuilt.promotionsByCategoryId().size(), rebuilt.validUntil());
+    }
+
+    private Snapshot refreshExpired() {
+        Snapshot current = snapshot.get();
+        if (current == null || isExpired(current)) {
+            refresh();
+        }
+        return snapshot.get();
+    }
+
+    private boolean isExpired(Snapshot current) {
+        return !LocalDate.now(clock).isBefore(current.validUntil());
+    }
+
+    private Snapshot build(LocalDate today) {
+        List<PromotionEntity> promotions = promotionRepository.findAll();
+        Map<Long, List<PromotionEntity>> promotionsByCategoryId = promotions.stream()
+                .filter(promotion -> isActiveOn(promotion, today))
+                .sorted(Comparator.comparing(PromotionEntity::getStartDate).reversed())
+                .collect(Collectors.groupingBy(PromotionEntity::getCategoryId, Collectors.toUnmodifiableList()));
+        return new Snapshot(Map.copyOf(promotionsByCategoryId), nextBoundary(promotions, today));
+    }
+
+    private static boolean isActiveOn(PromotionEntity promotion, LocalDate day) {
+        return !day.isBefore(promotion.getStartDate()) && !day.isAfter(promotion.getEndDate());
+    }
+
+    private static LocalDate nextBoundary(List<PromotionEntity> promotions, LocalDate today) {
+        LocalDate next = LocalDate.MAX;
+        for (PromotionEntity promotion : promotions) {
+            if (promotion.getStartDate().isAfter(today) && promotion.getStartDate().isBefore(next)) {
+                next = promotion.getStartDate();
+            }
+            LocalDate dayAfterEnd = promotion.getEndDate().plusDays(1);
+            if (dayAfterEnd.isAfter(today) && dayAfterEnd.isBefore(next)) {
+                next = dayAfterEnd;
+            }
+        }
+        return next;
+    }
+
+    public record Snapshot(Map<Long, List<PromotionEntity>> promotionsByCategoryId, LocalDate validUntil) {
+
+        /**
+         * Promotions are looked up by type because a category can have one promotion of each type active at once.
+         * When several active promotions of the same type overlap, the one that started last wins.
+         */
+        public PromotionEntity findActivePromotion(Long categoryId, String promotionType) {
+            for (PromotionEntity promotion : promotionsByCategoryId.getOrDefault(categoryId, List.of())) {
+                if (promotionType.equalsIgnoreCase(promotion.getPromotionType())) {
+                    return promotion;
+                }
+            }
+            return null;
+        }
+    }
+}
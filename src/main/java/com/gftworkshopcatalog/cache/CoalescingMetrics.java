@@ -0,0 +1,43 @@
+package com.gftworkshopcatalog.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Counts calls that ran a load (loaded) against calls that waited for a load already in flight (joined) in
+ * catalog.coalescing.calls, together with the share of joined calls as catalog.coalescing.ratio.
+ */
+class CoalescingMetrics {
+
+    private final Counter loaded;
+    private final Counter joined;
+
+    CoalescingMetrics(String name, MeterRegistry meterRegistry) {
+        this.loaded = Counter.builder("catalog.coalescing.calls")
+                .tag("name", name)
+                .tag("outcome", "loaded")
+                .register(meterRegistry);
+        this.joined = Counter.builder("catalog.coalescing.calls")
+                .tag("name", name)
+                .tag("outcome", "joined")
+                .register(meterRegistry);
+        Gauge.builder("catalog.coalescing.ratio", this, CoalescingMetrics::ratio)
+                .tag("name", name)
+                .description("Share of calls served by a load already in flight")
+                .register(meterRegistry);
+    }
+
+    void loaded() {
+        loaded.increment();
+    }
+
+    void joined() {
+        joined.increment();
+    }
+
+    double ratio() {
+        double calls = loaded.count() + joined.count();
+        return calls == 0 ? 0 : joined.count() / calls;
+    }
+}
@@ -0,0 +1,155 @@
+package com.gftworkshopcatalog.cache;
+
+import com.gftworkshopcatalog.model.ProductEntity;
+import com.gftworkshopcatalog.repositories.ProductRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Merges product lookups by ID from concurrent requests into one query. The first lookup opens a batch, waits for
+ * the window and then loads every ID added meanwhile; a batch reaching the maximum size is loaded at once. Each
+ * lookup gets back only its own products. A zero window queries directly.
+ */
+@Component
+public class ProductBatchLoader {
+
+    private final ProductRepository productRepository;
+    private final Duration window;
+    private final int maximumSize;
+    private final DistributionSummary batchSize;
+    private final DistributionSummary batchRequests;
+    private final Timer batchWait;
+    private final Object lock = new Object();
+    private Batch pending;
+
+    public ProductBatchLoader(ProductRepository productRepository,
+                              @Value("${catalog.products.batch.window:2ms}") Duration window,
+                              @Value("${catalog.products.batch.maximum-size:500}") int maximumSize,
+                              MeterRegistry meterRegistry) {
+        this.productRepository = productRepository;
+        this.window = window;
+        this.maximumSize = maximumSize;
+        this.batchSize = DistributionSummary.builder("catalog.products.batch.size")
+                .description("Product IDs loaded per query")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        this.batchRequests = DistributionSummary.builder("catalog.products.batch.requests")
+                .description("Lookups served per query")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        this.batchWait = Timer.builder("catalog.products.batch.wait")
+                .description("Time a lookup waits for its batch query to start")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+    }
+
+    public Map<Long, ProductEntity> loadAll(Collection<Long> productIds) {
+        if (window.isZero()) {
+            batchSize.record(productIds.size());
+            batchRequests.record(1);
+            return byId(productRepository.findAllById(productIds));
+        }
+        long enqueuedAt = System.nanoTime();
+        Batch batch;
+        boolean opened;
+        synchronized (lock) {
+            opened = pending == null;
+            if (opened) {
+                pending = new Batch();
+            }
+            batch = pending;
+            batch.productIds.addAll(productIds);
+            batch.requests++;
+            if (batch.productIds.size() >= maximumSize) {
+                pending = null;
+                batch.full.countDown();
+            }
+        }
+        if (opened) {
+            awaitWindow(batch);
+            load(batch);
+        }
+        Map<Long, ProductEntity> loaded = await(batch.result);
+        batchWait.record(batch.startedAt - enqueuedAt, TimeUnit.NANOSECONDS);
+        Map<Long, ProductEntity> products = new HashMap<>();
+        for (Long productId : productIds) {
+            ProductEntity product = loaded.get(productId);
+            if (product != null) {
+                products.put(productId, product);
+            }
+        }
+        return products;
+    }
+
+    private void awaitWindow(Batch batch) {
+        try {
+            batch.full.await(window.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (lock) {
+            if (pending == batch) {
+                pending = null;
+            }
+        }
+    }
+
+    private void load(Batch batch) {
+        Set<Long> productIds;
+        int requests;
+        synchronized (lock) {
+            productIds = batch.productIds;
+            requests = batch.requests;
+        }
+        batch.startedAt = System.nanoTime();
+        batchSize.record(productIds.size());
+        batchRequests.record(requests);
+        try {
+            batch.result.complete(byId(productRepository.findAllById(productIds)));
+        } catch (RuntimeException e) {
+            batch.result.completeExceptionally(e);
+        }
+    }
+
+    private static Map<Long, ProductEntity> byId(List<ProductEntity> products) {
+        Map<Long, ProductEntity> productsById = new HashMap<>();
+        for (ProductEntity product : products) {
+            productsById.put(product.getId(), product);
+        }
+        return productsById;
+    }
+
+    private static Map<Long, ProductEntity> await(CompletableFuture<Map<Long, ProductEntity>> result) {
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static final class Batch {
+        private final Set<Long> productIds = new HashSet<>();
+        private final CountDownLatch full = new CountDownLatch(1);
+        private final CompletableFuture<Map<Long, ProductEntity>> result = new CompletableFuture<>();
+        private int requests;
+        private volatile long startedAt;
+    }
+}
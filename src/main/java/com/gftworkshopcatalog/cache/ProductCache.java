@@ -0,0 +1,152 @@
+package com.gftworkshopcatalog.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.gftworkshopcatalog.model.ProductEntity;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Bounded read-through cache of products by ID, evicted by size (W-TinyLFU) and by age.
+ * Single products are loaded inside Caffeine's per-key compute, so an eviction waits for a load in flight instead
+ * of being overwritten by it. Bulk loads are dropped again when an eviction happened while they ran.
+ * Evictions requested inside a transaction are repeated after commit; rows read before then may still be cached
+ * until that point, but not after it.
+ */
+@Component
+public class ProductCache {
+
+    private final Cache<Long, ProductEntity> cache;
+    private final AtomicLong evictions = new AtomicLong();
+    private final CoalescingMetrics coalescingMetrics;
+
+    public ProductCache(@Value("${catalog.cache.products.maximum-size:10000}") long maximumSize,
+                        @Value("${catalog.cache.products.expire-after-write:10m}") Duration expireAfterWrite,
+                        MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "products");
+        this.coalescingMetrics = new CoalescingMetrics("products", meterRegistry);
+    }
+
+    public ProductEntity get(Long productId) {
+        return cache.getIfPresent(productId);
+    }
+
+    /**
+     * Returns the cached product, or loads and caches it. Concurrent lookups of the same missing product wait for
+     * one load; the loader may throw, in which case nothing is cached. Lookups that missed are counted as loaded
+     * or joined in {@link CoalescingMetrics}.
+     */
+    public ProductEntity get(Long productId, Function<Long, ProductEntity> loader) {
+        boolean missed = cache.policy().getIfPresentQuietly(productId) == null;
+        boolean[] loaded = new boolean[1];
+        try {
+            return cache.get(productId, id -> {
+                loaded[0] = true;
+                coalescingMetrics.loaded();
+                return loader.apply(id);
+            });
+        } finally {
+            if (missed && !loaded[0]) {
+                coalescingMetrics.joined();
+            }
+        }
+    }
+
+    /**
+     * Returns the cached products and loads the missing ones with a single call of the loader. Products that do not
+     * exist are left out of the result.
+     */
+    public Map<Long, ProductEntity> getAll(Collection<Long> productIds,
+                                           Function<List<Long>, Collection<ProductEntity>> loader) {
+        Map<Long, ProductEntity> products = new HashMap<>(cache.getAllPresent(productIds));
+        List<Long> missingIds = productIds.stream()
+                .filter(productId -> !products.containsKey(productId))
+                .distinct()
+                .toList();
+        if (missingIds.isEmpty()) {
+            return products;
+        }
+        long evictionsBeforeLoad = evictions.get();
+        Collection<ProductEntity> loadedProducts = loader.apply(missingIds);
+        putLoaded(loadedProducts, evictionsBeforeLoad);
+        loadedProducts.forEach(product -> products.put(product.getId(), product));
+        return products;
+    }
+
+    /**
+     * Caches the products read by the loader, with the same guard against evictions made meanwhile as
+     * {@link #getAll(Collection, Function)}.
+     */
+    public void preload(Supplier<? extends Collection<ProductEntity>> loader) {
+        long evictionsBeforeLoad = evictions.get();
+        putLoaded(loader.get(), evictionsBeforeLoad);
+    }
+
+    public void put(ProductEntity product) {
+        cache.put(product.getId(), product);
+    }
+
+    public void putAll(Collection<ProductEntity> products) {
+        products.forEach(this::put);
+    }
+
+    public void evict(Long productId) {
+        evictAll(List.of(productId));
+    }
+
+    public void evictAll(Collection<Long> productIds) {
+        invalidateAll(productIds);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            List<Long> evictedIds = List.copyOf(productIds);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidateAll(evictedIds);
+                }
+            });
+        }
+    }
+
+    public void clear() {
+        evictions.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    private void putLoaded(Collection<ProductEntity> loadedProducts, long evictionsBeforeLoad) {
+        for (ProductEntity product : loadedProducts) {
+            cache.put(product.getId(), product);
+        }
+        if (evictions.get() != evictionsBeforeLoad) {
+            // The rows may have been read before the eviction; serve them to this caller only
+            cache.invalidateAll(loadedProducts.stream().map(ProductEntity::getId).toList());
+        }
+    }
+
+    private void invalidateAll(Collection<Long> productIds) {
+        evictions.incrementAndGet();
+        cache.invalidateAll(productIds);
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+}
@@ -0,0 +1,146 @@
+package com.gftworkshopcatalog.cache;
+
+import com.gftworkshopcatalog.api.dto.ProductSuggestionDTO;
+import com.gftworkshopcatalog.model.ProductEntity;
+import com.gftworkshopcatalog.repositories.ProductRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Product names per category kept as sorted arrays of lower-cased names, so a prefix lookup is a binary search
+ * followed by a short scan. Readers see immutable arrays; writers replace the array of the affected category
+ * only. Built from the database on first use or warmup and updated as products are written.
+ */
+@Slf4j
+@Component
+public class ProductNameIndex {
+
+    private static final Comparator<Entry> ENTRY_ORDER = Comparator.comparing(Entry::normalizedName)
+            .thenComparing(Entry::productId);
+
+    private final ProductRepository productRepository;
+    private final Map<Long, Entry[]> entriesByCategoryId = new ConcurrentHashMap<>();
+    private final Map<Long, Entry> entriesByProductId = new ConcurrentHashMap<>();
+    private volatile boolean built;
+
+    public ProductNameIndex(ProductRepository productRepository) {
+        this.productRepository = productRepository;
+    }
+
+    public List<ProductSuggestionDTO> findByPrefix(Long categoryId, String prefix, int limit) {
+        ensureBuilt();
+        Entry[] entries = entriesByCategoryId.get(categoryId);
+        if (entries == null) {
+            return List.of();
+        }
+        String normalizedPrefix = normalize(prefix);
+        List<ProductSuggestionDTO> suggestions = new ArrayList<>(Math.min(limit, entries.length));
+        for (int i = lowerBound(entries, normalizedPrefix); i < entries.length && suggestions.size() < limit; i++) {
+            Entry entry = entries[i];
+            if (!entry.normalizedName().startsWith(normalizedPrefix)) {
+                break;
+            }
+            suggestions.add(new ProductSuggestionDTO(entry.productId(), entry.name()));
+        }
+        return suggestions;
+    }
+
+    public synchronized void rebuild() {
+        Map<Long, List<Entry>> entriesByCategory = new HashMap<>();
+        Map<Long, Entry> entriesById = new HashMap<>();
+        for (ProductEntity product : productRepository.findAll()) {
+            Entry entry = Entry.of(product);
+            entriesByCategory.computeIfAbsent(entry.categoryId(), categoryId -> new ArrayList<>()).add(entry);
+            entriesById.put(entry.productId(), entry);
+        }
+        entriesByCategoryId.clear();
+        entriesByCategory.forEach((categoryId, entries) -> {
+            Entry[] sorted = entries.toArray(Entry[]::new);
+            Arrays.sort(sorted, ENTRY_ORDER);
+            entriesByCategoryId.put(categoryId, sorted);
+        });
+        entriesByProductId.clear();
+        entriesByProductId.putAll(entriesById);
+        built = true;
+        log.info("Product name index built for {} products in {} categories", entriesById.size(), entriesByCategory.size());
+    }
+
+    public synchronized void put(ProductEntity product) {
+        if (!built) {
+            return;
+        }
+        Entry entry = Entry.of(product);
+        Entry previous = entriesByProductId.put(entry.productId(), entry);
+        if (previous != null) {
+            removeFromCategory(previous);
+        }
+        Entry[] entries = entriesByCategoryId.getOrDefault(entry.categoryId(), new Entry[0]);
+        int insertionPoint = -Arrays.binarySearch(entries, entry, ENTRY_ORDER) - 1;
+        Entry[] updated = new Entry[entries.length + 1];
+        System.arraycopy(entries, 0, updated, 0, insertionPoint);
+        updated[insertionPoint] = entry;
+        System.arraycopy(entries, insertionPoint, updated, insertionPoint + 1, entries.length - insertionPoint);
+        entriesByCategoryId.put(entry.categoryId(), updated);
+    }
+
+    public synchronized void remove(Long productId) {
+        Entry previous = entriesByProductId.remove(productId);
+        if (previous != null) {
+            removeFromCategory(previous);
+        }
+    }
+
+    private void removeFromCategory(Entry entry) {
+        Entry[] entries = entriesByCategoryId.get(entry.categoryId());
+        int index = entries == null ? -1 : Arrays.binarySearch(entries, entry, ENTRY_ORDER);
+        if (index < 0) {
+            return;
+        }
+        if (entries.length == 1) {
+            entriesByCategoryId.remove(entry.categoryId());
+            return;
+        }
+        Entry[] updated = new Entry[entries.length - 1];
+        System.arraycopy(entries, 0, updated, 0, index);
+        System.arraycopy(entries, index + 1, updated, index, entries.length - index - 1);
+        entriesByCategoryId.put(entry.categoryId(), updated);
+    }
+
+    private void ensureBuilt() {
+        if (!built) {
+            synchronized (this) {
+                if (!built) {
+                    rebuild();
+                }
+            }
+        }
+    }
+
+    private static int lowerBound(Entry[] entries, String normalizedPrefix) {
+        int low = 0;
+        int high = entries.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (entries[mid].normalizedName().compareTo(normalizedPrefix) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static String normalize(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+    private record Entry(String normalizedName, String name, Long productId, Long categoryId) {
+
+        static Entry of(ProductEntity product) {
+            return new Entry(normalize(product.getName()), product.getName(), product.getId(), product.getCategoryId());
+        }
+    }
+}
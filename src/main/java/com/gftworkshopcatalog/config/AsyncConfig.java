@@ -0,0 +1,10 @@
+package com.gftworkshopcatalog.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+
+
+@Configuration
+@EnableAsync
+public class AsyncConfig {
+}
@@ -0,0 +1,85 @@
+package com.gftworkshopcatalog.config;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import io.r2dbc.spi.Option;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.r2dbc.repository.config.EnableR2dbcRepositories;
+import org.springframework.util.StringUtils;
+
+import java.time.Duration;
+
+/**
+ * R2DBC access for the reactive read API, next to the JDBC DataSource used by everything else.
+ * The connection factory is deliberately not a bean: Spring Boot backs off from creating the DataSource when one
+ * exists. Without catalog.reactive.r2dbc-url the H2 database of the JDBC URL is opened, which covers development
+ * and tests.
+ */
+@Configuration
+@EnableR2dbcRepositories(basePackages = "com.gftworkshopcatalog.repositories.reactive",
+        entityOperationsRef = "reactiveEntityTemplate")
+public class ReactiveDataConfig {
+
+    private static final String H2_JDBC_PREFIX = "jdbc:h2:";
+
+    @Bean
+    public ReactiveConnectionPool reactiveConnectionPool(DataSourceProperties dataSourceProperties,
+                                                         @Value("${catalog.reactive.r2dbc-url:}") String r2dbcUrl,
+                                                         @Value("${catalog.reactive.pool.max-size:10}") int maxSize,
+                                                         @Value("${catalog.reactive.pool.max-acquire-time:5s}") Duration maxAcquireTime) {
+        ConnectionFactory connectionFactory = ConnectionFactories.get(connectionOptions(dataSourceProperties, r2dbcUrl));
+        return new ReactiveConnectionPool(new ConnectionPool(ConnectionPoolConfiguration.builder(connectionFactory)
+                .name("catalog-reactive")
+                .maxSize(maxSize)
+                .maxAcquireTime(maxAcquireTime)
+                .build()));
+    }
+
+    @Bean
+    public R2dbcEntityTemplate reactiveEntityTemplate(ReactiveConnectionPool reactiveConnectionPool) {
+        return new R2dbcEntityTemplate(reactiveConnectionPool.pool());
+    }
+
+    static ConnectionFactoryOptions connectionOptions(DataSourceProperties dataSourceProperties, String r2dbcUrl) {
+        ConnectionFactoryOptions.Builder options;
+        if (StringUtils.hasText(r2dbcUrl)) {
+            options = ConnectionFactoryOptions.parse(r2dbcUrl).mutate();
+        } else {
+            String jdbcUrl = dataSourceProperties.determineUrl();
+            if (jdbcUrl == null || !jdbcUrl.startsWith(H2_JDBC_PREFIX)) {
+                throw new IllegalStateException("catalog.reactive.r2dbc-url is required for " + jdbcUrl);
+            }
+            options = ConnectionFactoryOptions.builder()
+                    .option(ConnectionFactoryOptions.DRIVER, "h2")
+                    .option(Option.valueOf("url"), jdbcUrl.substring(H2_JDBC_PREFIX.length()));
+        }
+        String username = dataSourceProperties.determineUsername();
+        if (username != null) {
+            options.option(ConnectionFactoryOptions.USER, username);
+        }
+        String password = dataSourceProperties.determinePassword();
+        if (password != null) {
+            options.option(ConnectionFactoryOptions.PASSWORD, password);
+        }
+        return options.build();
+    }
+
+    /**
+     * Owns the pool so it is closed with the context.
+     */
+    public record ReactiveConnectionPool(ConnectionPool pool) implements DisposableBean {
+
+        @Override
+        public void destroy() {
+            pool.dispose();
+        }
+    }
+}
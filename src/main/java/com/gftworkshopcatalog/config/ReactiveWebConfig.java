@@ -0,0 +1,69 @@
+package com.gftworkshopcatalog.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gftworkshopcatalog.controllers.ReactiveCatalogHandler;
+import com.gftworkshopcatalog.exceptions.BadRequest;
+import com.gftworkshopcatalog.exceptions.ErrorResponse;
+import com.gftworkshopcatalog.exceptions.NotFoundCategory;
+import com.gftworkshopcatalog.exceptions.NotFoundProduct;
+import org.springframework.boot.web.servlet.ServletRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.server.reactive.ServletHttpHandlerAdapter;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+/**
+ * Serves the reactive read API under /reactive, next to the Spring MVC controllers. The application stays a servlet
+ * application; the router is adapted to a servlet of its own, which uses non-blocking servlet I/O so the response
+ * is written at the pace the client reads it.
+ */
+@Configuration
+public class ReactiveWebConfig {
+
+    public static final String REACTIVE_PATH = "/reactive";
+
+    @Bean
+    public RouterFunction<ServerResponse> reactiveCatalogRoutes(ReactiveCatalogHandler handler) {
+        return RouterFunctions.route()
+                .GET("/products/{id}", handler::getProductDetails)
+                .POST("/products/byIds", handler::listProductsById)
+                .GET("/categories/{id}/products", handler::listProductsByCategoryId)
+                .onError(NotFoundProduct.class, (e, request) -> error(((NotFoundProduct) e).getStatus(), e))
+                .onError(NotFoundCategory.class, (e, request) -> error(((NotFoundCategory) e).getStatus(), e))
+                .onError(BadRequest.class, (e, request) -> error(((BadRequest) e).getStatus(), e))
+                .build();
+    }
+
+    @Bean
+    public ServletRegistrationBean<ServletHttpHandlerAdapter> reactiveCatalogServlet(RouterFunction<ServerResponse> reactiveCatalogRoutes,
+                                                                                    ObjectMapper objectMapper) {
+        HandlerStrategies strategies = HandlerStrategies.builder()
+                .codecs(codecs -> {
+                    codecs.defaultCodecs().jackson2JsonEncoder(new Jackson2JsonEncoder(objectMapper));
+                    codecs.defaultCodecs().jackson2JsonDecoder(new Jackson2JsonDecoder(objectMapper));
+                })
+                .build();
+        ServletHttpHandlerAdapter servlet = new ServletHttpHandlerAdapter(
+                RouterFunctions.toHttpHandler(reactiveCatalogRoutes, strategies));
+        ServletRegistrationBean<ServletHttpHandlerAdapter> registration =
+                new ServletRegistrationBean<>(servlet, REACTIVE_PATH + "/*");
+        registration.setName("reactiveCatalog");
+        registration.setAsyncSupported(true);
+        registration.setLoadOnStartup(1);
+        return registration;
+    }
+
+    private static Mono<ServerResponse> error(HttpStatus status, Throwable exception) {
+        return ServerResponse.status(status)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new ErrorResponse(exception.getMessage(), status));
+    }
+}
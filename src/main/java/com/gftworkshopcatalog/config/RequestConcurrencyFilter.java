@@ -0,0 +1,72 @@
+package com.gftworkshopcatalog.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Admits a bounded number of requests at a time. On virtual threads Tomcat no longer caps concurrency with its
+ * worker pool, so without this every request would queue on a Hikari connection; requests not admitted within the
+ * timeout get 503 with Retry-After instead. Actuator endpoints are never held back, so probes keep answering.
+ */
+@Slf4j
+public class RequestConcurrencyFilter extends OncePerRequestFilter {
+
+    private final Semaphore permits;
+    private final Duration admissionTimeout;
+    private final Counter rejectedRequests;
+
+    public RequestConcurrencyFilter(int maxConcurrentRequests, Duration admissionTimeout, MeterRegistry meterRegistry) {
+        this.permits = new Semaphore(maxConcurrentRequests, true);
+        this.admissionTimeout = admissionTimeout;
+        this.rejectedRequests = Counter.builder("catalog.requests.rejected")
+                .description("Requests refused because the concurrency limit stayed full for the admission timeout")
+                .register(meterRegistry);
+        Gauge.builder("catalog.requests.in.flight", permits, available -> maxConcurrentRequests - available.availablePermits())
+                .description("Requests currently admitted by the concurrency limit")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getServletPath().startsWith("/actuator");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (!admit()) {
+            rejectedRequests.increment();
+            log.warn("Rejected {} {}: concurrency limit full for {}", request.getMethod(), request.getRequestURI(), admissionTimeout);
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            return;
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private boolean admit() {
+        try {
+            return permits.tryAcquire(admissionTimeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
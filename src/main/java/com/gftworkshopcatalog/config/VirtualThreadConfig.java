@@ -0,0 +1,34 @@
+package com.gftworkshopcatalog.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.time.Duration;
+
+/**
+ * Active when spring.threads.virtual.enabled is set on Java 21, which moves Tomcat requests and @Async work onto
+ * virtual threads. Request concurrency is then sized from the connection pool rather than the Tomcat thread pool.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfig {
+
+    @Bean
+    public FilterRegistrationBean<RequestConcurrencyFilter> requestConcurrencyFilter(
+            @Value("${spring.datasource.hikari.maximum-pool-size:10}") int connectionPoolSize,
+            @Value("${catalog.virtual-threads.requests-per-connection:4}") int requestsPerConnection,
+            @Value("${catalog.virtual-threads.admission-timeout:2s}") Duration admissionTimeout,
+            MeterRegistry meterRegistry) {
+        RequestConcurrencyFilter filter = new RequestConcurrencyFilter(connectionPoolSize * requestsPerConnection,
+                admissionTimeout, meterRegistry);
+        FilterRegistrationBean<RequestConcurrencyFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+}
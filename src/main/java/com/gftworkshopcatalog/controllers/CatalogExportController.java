@@ -0,0 +1,48 @@
+package com.gftworkshopcatalog.controllers;
+
+import com.gftworkshopcatalog.exceptions.ErrorResponse;
+import com.gftworkshopcatalog.services.CatalogExportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+@RestController
+@RequestMapping("/export")
+@Tag(name = "Export", description = "Bulk export of the catalog")
+public class CatalogExportController {
+
+    public static final String APPLICATION_CBOR_SEQ_VALUE = "application/cbor-seq";
+
+    private final CatalogExportService catalogExportService;
+
+    public CatalogExportController(CatalogExportService catalogExportService) {
+        this.catalogExportService = catalogExportService;
+    }
+
+    @GetMapping(produces = APPLICATION_CBOR_SEQ_VALUE)
+    @Operation(summary = "Export the whole catalog",
+            description = "Streams categories, products and promotions as a CBOR sequence: per section, a header map with the section name and its columns followed by one array of values per row.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Catalog export",
+                    content = { @Content(mediaType = APPLICATION_CBOR_SEQ_VALUE) }),
+            @ApiResponse(responseCode = "500", description = "Error response",
+                    content = { @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class)) })
+    })
+    public ResponseEntity<StreamingResponseBody> exportCatalog() {
+        StreamingResponseBody body = catalogExportService::exportCatalog;
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(APPLICATION_CBOR_SEQ_VALUE))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"catalog.cbors\"")
+                .body(body);
+    }
+}
@@ -1,5 +1,6 @@
 package com.gftworkshopcatalog.controllers;
 
+import com.gftworkshopcatalog.api.dto.ProductSuggestionDTO;
 import com.gftworkshopcatalog.exceptions.ErrorResponse;
 import com.gftworkshopcatalog.model.CategoryEntity;
 import com.gftworkshopcatalog.model.ProductEntity;
@@ -11,9 +12,11 @@ import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -30,16 +33,21 @@ public class CategoryController {
     }
 
     @GetMapping
-    @Operation(summary = "List all categories", description = "Returns a list of all categories.")
+    @Operation(summary = "List all categories", description = "Returns a list of all categories, tagged with an ETag of the whole collection.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Category list",
                     content = { @Content(mediaType = "application/json", schema = @Schema(implementation = CategoryEntity.class)) }),
+            @ApiResponse(responseCode = "304", description = "Category list not modified since the ETag in If-None-Match"),
             @ApiResponse(responseCode = "500", description = "Error response",
                     content = { @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class)) })
     })
-    public ResponseEntity<List<CategoryEntity>> findAllCategories() {
+    public ResponseEntity<List<CategoryEntity>> findAllCategories(WebRequest request) {
+            String eTag = RepresentationETags.forCurrentRequest(categoryService.getCategoriesVersion().toETag());
+            if (request.checkNotModified(eTag)) {
+                return null;
+            }
             List<CategoryEntity> categories = categoryService.getAllCategories();
-            return ResponseEntity.ok(categories);
+            return ResponseEntity.ok().eTag(eTag).varyBy(HttpHeaders.ACCEPT).body(categories);
     }
 
     @PostMapping
@@ -111,4 +119,22 @@ public class CategoryController {
         return ResponseEntity.ok(products);
     }
 
+    @GetMapping("/{id}/products/typeahead")
+    @Operation(summary = "Suggest product names by category ID",
+            description = "Returns up to limit products of the category whose name starts with the prefix, ignoring case, served from memory.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Suggestion list",
+                    content = { @Content(mediaType = "application/json", schema = @Schema(implementation = ProductSuggestionDTO.class)) }),
+            @ApiResponse(responseCode = "400", description = "Bad request",
+                    content = { @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class)) }),
+            @ApiResponse(responseCode = "500", description = "Error response",
+                    content = { @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class)) })
+    })
+    public ResponseEntity<List<ProductSuggestionDTO>> suggestProductNames(
+            @Parameter(description = "Category ID") @PathVariable("id") Long categoryId,
+            @Parameter(description = "Beginning of the product name") @RequestParam("prefix") String prefix,
+            @Parameter(description = "Maximum number of suggestions") @RequestParam(value = "limit", defaultValue = "10") int limit) {
+        return ResponseEntity.ok(categoryService.suggestProductNames(categoryId, prefix, limit));
+    }
+
 }
\ No newline at end of file
@@ -1,9 +1,18 @@
 package com.gftworkshopcatalog.controllers;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.gftworkshopcatalog.api.dto.CartProductDTO;
+import com.gftworkshopcatalog.api.dto.ProductImportResultDTO;
+import com.gftworkshopcatalog.api.dto.ProductPageDTO;
+import com.gftworkshopcatalog.api.dto.ProductSearchPageDTO;
+import com.gftworkshopcatalog.api.dto.StockReservationDTO;
+import com.gftworkshopcatalog.api.dto.StockReservationResultDTO;
+import com.gftworkshopcatalog.exceptions.BadRequest;
+import com.gftworkshopcatalog.exceptions.ConflictResponse;
 import com.gftworkshopcatalog.exceptions.ErrorResponse;
 import com.gftworkshopcatalog.exceptions.SuccessResponse;
 import com.gftworkshopcatalog.model.ProductEntity;
+import com.gftworkshopcatalog.services.ProductImportService;
 import com.gftworkshopcatalog.services.impl.ProductServiceImpl;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -12,10 +21,17 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
 
 
@@ -24,10 +40,16 @@ import java.util.List;
 @Tag(name = "Products", description = "Everything about the products")
 public class ProductController {
 
+    private static final String TEXT_CSV_VALUE = "text/csv";
+
     private final ProductServiceImpl productServiceImpl;
+    private final ObjectMapper objectMapper;
+    private final ProductImportService productImportService;
 
-    public ProductController(ProductServiceImpl productServiceImpl) {
+    public ProductController(ProductServiceImpl productServiceImpl, ObjectMapper objectMapper, ProductImportService productImportService) {
         this.productServiceImpl = productServiceImpl;
+        this.objectMapper = objectMapper;
+        this.productImportService = productImportService;
     }
 
     @GetMapping
@@ -43,6 +65,64 @@ public class ProductController {
             return ResponseEntity.ok(products);
     }
 
+    @GetMapping("/page")
+    @Operation(summary = "List a page of products", description = "Returns the products with an ID greater than the cursor, ordered by ID, and the cursor of the next page.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Product page",
+                    content = { @Content(mediaType = "application/json", schema = @Schema(implementation = ProductPageDTO.class)) }),
+            @ApiResponse(responseCode = "400", description = "Invalid page size",
+                    content = { @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class)) }),
+            @ApiResponse(responseCode = "500", description = "Error response",
+                    content = { @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class)) })
+    })
+    public ResponseEntity<ProductPageDTO> listProductsPage(@Parameter(description = "Cursor returned as next by the previous page")@RequestParam(required = false) Long after,
+                                                           @Parameter(description = "Page size")@RequestParam(defaultValue = "${catalog.products.page.default-size:50}") int size) {
+            ProductPageDTO page = productServiceImpl.findProductsPage(after, size);
+            return ResponseEntity.ok(page);
+    }
+
+    @GetMapping("/search")
+    @Operation(summary = "Search products", description = "Returns a page of the products whose name or description match the query, ranked by relevance and optionally filtered by category and by a range of the effective price, after seasonal promotions.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Search results",
+                    content = { @Content(mediaType = "application/json", schema = @Schema(implementation = ProductSearchPageDTO.class)) }),
+            @ApiResponse(responseCode = "400", description = "Invalid query, page or price range",
+                    content = { @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class)) }),
+            @ApiResponse(responseCode = "500", description = "Error response",
+                    content = { @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class)) })
+    })
+    public ResponseEntity<ProductSearchPageDTO> searchProducts(@Parameter(description = "Words to search in the name and description")@RequestParam("q") String query,
+                                                               @Parameter(description = "Category ID")@RequestParam(required = false) Long categoryId,
+                                                               @Parameter(description = "Minimum effective price")@RequestParam(required = false) Double minPrice,
+                                                               @Parameter(description = "Maximum effective price")@RequestParam(required = false) Double maxPrice,
+                                                               @Parameter(description = "Page number, starting at 0")@RequestParam(defaultValue = "0") int page,
+                                                               @Parameter(description = "Page size")@RequestParam(defaultValue = "20") int size) {
+            ProductSearchPageDTO results = productServiceImpl.searchProducts(query, categoryId, minPrice, maxPrice, page, size);
+            return ResponseEntity.ok(results);
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Stream all products", description = "Streams the whole catalog ordered by ID as newline-delimited JSON.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Product stream",
+                    content = { @Content(mediaType = "application/x-ndjson", schema = @Schema(implementation = ProductEntity.class)) }),
+            @ApiResponse(responseCode = "500", description = "Error response",
+                    content = { @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class)) })
+    })
+    public ResponseEntity<StreamingResponseBody> streamAllProducts() {
+            StreamingResponseBody body = outputStream -> productServiceImpl.streamAllProducts(product -> writeLine(outputStream, product));
+            return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    private void writeLine(OutputStream outputStream, ProductEntity product) {
+        try {
+            outputStream.write(objectMapper.writeValueAsBytes(product));
+            outputStream.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
     @PostMapping
     @Operation(summary = "Add a new product", description = "Creates a new product in the catalog.")
     @ApiResponses(value = {
@@ -58,11 +138,30 @@ public class ProductController {
             return new ResponseEntity<>(createdProductEntity, HttpStatus.CREATED);
     }
 
+    @PostMapping(value = "/import", consumes = { TEXT_CSV_VALUE, MediaType.APPLICATION_NDJSON_VALUE })
+    @Operation(summary = "Import products in bulk", description = "Creates the products of a CSV file with header or of newline-delimited JSON, reporting the rows that could not be imported.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Import summary with per-row errors",
+                    content = { @Content(mediaType = "application/json", schema = @Schema(implementation = ProductImportResultDTO.class)) }),
+            @ApiResponse(responseCode = "400", description = "Unreadable input",
+                    content = { @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class)) }),
+            @ApiResponse(responseCode = "500", description = "Error response",
+                    content = { @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class)) })
+    })
+    public ResponseEntity<ProductImportResultDTO> importProducts(@RequestHeader("Content-Type") MediaType contentType, InputStream body) {
+            ProductImportService.Format format = MediaType.valueOf(TEXT_CSV_VALUE).includes(contentType)
+                    ? ProductImportService.Format.CSV
+                    : ProductImportService.Format.NDJSON;
+            ProductImportResultDTO result = productImportService.importProducts(body, format);
+            return ResponseEntity.ok(result);
+    }
+
     @GetMapping("/{id}")
-    @Operation(summary = "Get product details", description = "Returns details of a specific product.")
+    @Operation(summary = "Get product details", description = "Returns details of a specific product, tagged with an ETag of its version.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Product details",
                     content = { @Content(mediaType = "application/json", schema = @Schema(implementation = ProductEntity.class)) }),
+            @ApiResponse(responseCode = "304", description = "Product not modified since the ETag in If-None-Match"),
             @ApiResponse(responseCode = "404", description = "Product not found",
                     content = { @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class)) }),
             @ApiResponse(responseCode = "500", description = "Error response",
@@ -70,11 +169,38 @@ public class ProductController {
     })
     public ResponseEntity<ProductEntity> getProductDetails(@Parameter(description = "Product ID")@PathVariable Long id) {
             ProductEntity productEntity = productServiceImpl.findProductById(id);
-            return ResponseEntity.ok(productEntity);
+            return ResponseEntity.ok().eTag(RepresentationETags.forCurrentRequest(productETag(productEntity))).varyBy(HttpHeaders.ACCEPT).body(productEntity);
+    }
+
+    /**
+     * The row version covers every stored field; the effective price is added because a seasonal promotion
+     * starting or ending changes the representation without touching the product row.
+     */
+    static String productETag(ProductEntity product) {
+        return product.getVersion() + "-" + product.getEffectivePrice();
+    }
+
+    /**
+     * Reads the product version back from an ETag issued by {@link #productETag}; no header or "*" sets no expectation.
+     */
+    private static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || "*".equals(ifMatch.trim())) {
+            return null;
+        }
+        String eTag = ifMatch.trim();
+        if (eTag.length() > 1 && eTag.startsWith("\"") && eTag.endsWith("\"")) {
+            eTag = eTag.substring(1, eTag.length() - 1);
+        }
+        int separator = eTag.indexOf('-');
+        try {
+            return Long.parseLong(separator < 0 ? eTag : eTag.substring(0, separator));
+        } catch (NumberFormatException e) {
+            throw new BadRequest("If-Match must be a strong ETag returned for the product");
+        }
     }
 
     @PutMapping("/{id}")
-    @Operation(summary = "Update a product", description = "Updates the details of a specific product.")
+    @Operation(summary = "Update a product", description = "Updates the details of a specific product, only if it is still at the version of the ETag in If-Match when given.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Product updated",
                     content = { @Content(mediaType = "application/json", schema = @Schema(implementation = ProductEntity.class)) }),
@@ -82,12 +208,16 @@ public class ProductController {
                     content = { @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class)) }),
             @ApiResponse(responseCode = "404", description = "Product not found",
                     content = { @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class)) }),
+            @ApiResponse(responseCode = "409", description = "Product modified since the ETag in If-Match",
+                    content = { @Content(mediaType = "application/json", schema = @Schema(implementation = ConflictResponse.class)) }),
             @ApiResponse(responseCode = "500", description = "Error response",
                     content = { @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class)) })
     })
-    public ResponseEntity<ProductEntity> updateProduct(@Parameter(description = "Product ID")@PathVariable Long id, @RequestBody ProductEntity productEntity) {
-            ProductEntity updatedProductEntity = productServiceImpl.updateProduct(id, productEntity);
-            return ResponseEntity.ok(updatedProductEntity);
+    public ResponseEntity<ProductEntity> updateProduct(@Parameter(description = "Product ID")@PathVariable Long id,
+                                                       @Parameter(description = "ETag of the product being edited") @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                       @RequestBody ProductEntity productEntity) {
+            ProductEntity updatedProductEntity = productServiceImpl.updateProduct(id, productEntity, expectedVersion(ifMatch));
+            return ResponseEntity.ok().eTag(RepresentationETags.forCurrentRequest(productETag(updatedProductEntity))).varyBy(HttpHeaders.ACCEPT).body(updatedProductEntity);
     }
 
     @DeleteMapping("/{id}")
@@ -106,18 +236,22 @@ public class ProductController {
     }
 
     @PatchMapping("/newPrice/{id}/{newPrice}")
-    @Operation(summary = "Update the price of a product", description = "Partially updates the price of a specific product.")
+    @Operation(summary = "Update the price of a product", description = "Partially updates the price of a specific product, only if it is still at the version of the ETag in If-Match when given.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Price successfully updated",
                     content = { @Content(mediaType = "application/json", schema = @Schema(implementation = ProductEntity.class)) }),
             @ApiResponse(responseCode = "404", description = "Product not found",
                     content = { @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class)) }),
+            @ApiResponse(responseCode = "409", description = "Product modified since the ETag in If-Match",
+                    content = { @Content(mediaType = "application/json", schema = @Schema(implementation = ConflictResponse.class)) }),
             @ApiResponse(responseCode = "500", description = "Error response",
                     content = { @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class)) })
     })
-    public ResponseEntity<ProductEntity> updateProductPrice(@Parameter(description = "Product ID")@PathVariable Long id, @Parameter(description = "New price to update the current one")@RequestParam double newPrice) {
-            ProductEntity updatedProductEntity = productServiceImpl.updateProductPrice(id, newPrice);
-            return ResponseEntity.ok(updatedProductEntity);
+    public ResponseEntity<ProductEntity> updateProductPrice(@Parameter(description = "Product ID")@PathVariable Long id,
+                                                            @Parameter(description = "ETag of the product being edited") @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                            @Parameter(description = "New price to update the current one")@RequestParam double newPrice) {
+            ProductEntity updatedProductEntity = productServiceImpl.updateProductPrice(id, newPrice, expectedVersion(ifMatch));
+            return ResponseEntity.ok().eTag(RepresentationETags.forCurrentRequest(productETag(updatedProductEntity))).varyBy(HttpHeaders.ACCEPT).body(updatedProductEntity);
     }
 
     @PatchMapping("/newStock/{id}/{quantity}")
@@ -136,6 +270,23 @@ public class ProductController {
     }
 
 
+    @PatchMapping("/newStock")
+    @Operation(summary = "Reserve the stock of several products", description = "Applies every stock change in a single transaction, or none of them if any product lacks stock.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Stock successfully updated",
+                    content = { @Content(mediaType = "application/json", schema = @Schema(implementation = StockReservationResultDTO.class)) }),
+            @ApiResponse(responseCode = "400", description = "Insufficient stock or invalid reservation",
+                    content = { @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class)) }),
+            @ApiResponse(responseCode = "404", description = "Product not found",
+                    content = { @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class)) }),
+            @ApiResponse(responseCode = "500", description = "Error response",
+                    content = { @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class)) })
+    })
+    public ResponseEntity<List<StockReservationResultDTO>> reserveProductsStock(@Parameter(description = "Stock changes per product") @RequestBody List<StockReservationDTO> reservations) {
+            List<StockReservationResultDTO> results = productServiceImpl.reserveStock(reservations);
+            return ResponseEntity.ok(results);
+    }
+
     @PostMapping("/byIds")
     @Operation(summary = "Get products by IDs", description = "Returns a list of products for the given list of IDs.")
     @ApiResponses(value = {
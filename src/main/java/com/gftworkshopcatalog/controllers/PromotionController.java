@@ -12,9 +12,11 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -29,22 +31,28 @@ public class PromotionController {
         this.promotionService = promotionService;
     }
     @GetMapping
-    @Operation(summary = "List all promotions", description = "Returns a list of all promotions.")
+    @Operation(summary = "List all promotions", description = "Returns a list of all promotions, tagged with an ETag of the whole collection.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Promotion list",
                     content = { @Content(mediaType = "application/json", schema = @Schema(implementation = ProductEntity.class)) }),
+            @ApiResponse(responseCode = "304", description = "Promotion list not modified since the ETag in If-None-Match"),
             @ApiResponse(responseCode = "500", description = "Error response",
                     content = { @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class)) })
     })
-    public ResponseEntity<List<PromotionEntity>> getAllPromotions() {
+    public ResponseEntity<List<PromotionEntity>> getAllPromotions(WebRequest request) {
+        String eTag = RepresentationETags.forCurrentRequest(promotionService.findPromotionsVersion().toETag());
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
         List<PromotionEntity> promotions = promotionService.findAllPromotions();
-        return ResponseEntity.ok(promotions);
+        return ResponseEntity.ok().eTag(eTag).varyBy(HttpHeaders.ACCEPT).body(promotions);
     }
     @GetMapping("/{id}")
     @Operation(summary = "Get promotions details", description = "Returns details of a specific promotion.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Promotion details",
                     content = { @Content(mediaType = "application/json", schema = @Schema(implementation = ProductEntity.class)) }),
+            @ApiResponse(responseCode = "304", description = "Promotion not modified since the ETag in If-None-Match"),
             @ApiResponse(responseCode = "404", description = "Promotion not found",
                     content = { @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class)) }),
             @ApiResponse(responseCode = "500", description = "Error response",
@@ -52,7 +60,8 @@ public class PromotionController {
     })
     public ResponseEntity<PromotionEntity> getPromotionsById(@Parameter(description = "Promotion ID")@PathVariable Long id) {
         PromotionEntity promotion = promotionService.findPromotionById(id);
-        return ResponseEntity.ok(promotion);
+        return ResponseEntity.ok().eTag(RepresentationETags.forCurrentRequest(String.valueOf(promotion.getVersion())))
+                .varyBy(HttpHeaders.ACCEPT).body(promotion);
     }
     @PostMapping
     @Operation(summary = "Add a new promotion", description = "Creates a new promotion.")
@@ -0,0 +1,67 @@
+package com.gftworkshopcatalog.controllers;
+
+import com.gftworkshopcatalog.exceptions.BadRequest;
+import com.gftworkshopcatalog.model.ProductEntity;
+import com.gftworkshopcatalog.services.ReactiveCatalogService;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Handlers of the reactive read API. Same payloads as the servlet controllers; product lists are written as
+ * they are read, as a JSON array or, when the caller accepts it, as newline-delimited JSON.
+ */
+@Component
+public class ReactiveCatalogHandler {
+
+    private static final ParameterizedTypeReference<List<Long>> PRODUCT_IDS = new ParameterizedTypeReference<>() {
+    };
+
+    private final ReactiveCatalogService reactiveCatalogService;
+
+    public ReactiveCatalogHandler(ReactiveCatalogService reactiveCatalogService) {
+        this.reactiveCatalogService = reactiveCatalogService;
+    }
+
+    public Mono<ServerResponse> getProductDetails(ServerRequest request) {
+        return reactiveCatalogService.findProductById(pathId(request))
+                .flatMap(product -> ServerResponse.ok()
+                        .eTag(ProductController.productETag(product))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .bodyValue(product));
+    }
+
+    public Mono<ServerResponse> listProductsById(ServerRequest request) {
+        return request.bodyToMono(PRODUCT_IDS)
+                .switchIfEmpty(Mono.error(() -> new BadRequest("A list of product IDs is required")))
+                .flatMap(ids -> reactiveCatalogService.findProductsByIds(ids).collectList())
+                .flatMap(products -> ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).bodyValue(products));
+    }
+
+    public Mono<ServerResponse> listProductsByCategoryId(ServerRequest request) {
+        long categoryId = pathId(request);
+        return reactiveCatalogService.requireCategory(categoryId)
+                .then(Mono.defer(() -> stream(request, reactiveCatalogService.findProductsByCategoryId(categoryId))));
+    }
+
+    private static Mono<ServerResponse> stream(ServerRequest request, Flux<ProductEntity> products) {
+        MediaType contentType = request.headers().accept().contains(MediaType.APPLICATION_NDJSON)
+                ? MediaType.APPLICATION_NDJSON
+                : MediaType.APPLICATION_JSON;
+        return ServerResponse.ok().contentType(contentType).body(products, ProductEntity.class);
+    }
+
+    private static long pathId(ServerRequest request) {
+        try {
+            return Long.parseLong(request.pathVariable("id"));
+        } catch (NumberFormatException e) {
+            throw new BadRequest("Invalid ID: " + request.pathVariable("id"));
+        }
+    }
+}
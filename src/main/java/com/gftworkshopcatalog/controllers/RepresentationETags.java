@@ -0,0 +1,60 @@
+package com.gftworkshopcatalog.controllers;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
+import org.springframework.web.accept.HeaderContentNegotiationStrategy;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.util.List;
+
+/**
+ * The same resource is served as JSON, Smile or CBOR depending on the Accept header, and a strong ETag must differ
+ * between representations. Smile and CBOR tags carry the format as a suffix; JSON tags are left as they were, so
+ * tags already held by JSON clients stay valid. Responses tagged this way should also vary by Accept.
+ */
+final class RepresentationETags {
+
+    static final MediaType APPLICATION_SMILE = MediaType.valueOf("application/x-jackson-smile");
+
+    private static final HeaderContentNegotiationStrategy ACCEPT_HEADER = new HeaderContentNegotiationStrategy();
+
+    private RepresentationETags() {
+    }
+
+    static String forCurrentRequest(String eTag) {
+        MediaType representation = currentRepresentation();
+        if (APPLICATION_SMILE.equals(representation)) {
+            return eTag + "-smile";
+        }
+        if (MediaType.APPLICATION_CBOR.equals(representation)) {
+            return eTag + "-cbor";
+        }
+        return eTag;
+    }
+
+    /**
+     * Picks the representation the message converters will write: the first accepted type, by quality, that one of
+     * them produces, checked in converter order so that wildcards resolve to JSON.
+     */
+    static MediaType currentRepresentation() {
+        if (!(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes)) {
+            return MediaType.APPLICATION_JSON;
+        }
+        List<MediaType> acceptedTypes;
+        try {
+            acceptedTypes = ACCEPT_HEADER.resolveMediaTypes(new ServletWebRequest(attributes.getRequest()));
+        } catch (HttpMediaTypeNotAcceptableException e) {
+            return MediaType.APPLICATION_JSON;
+        }
+        for (MediaType acceptedType : acceptedTypes) {
+            for (MediaType representation : List.of(MediaType.APPLICATION_JSON, APPLICATION_SMILE, MediaType.APPLICATION_CBOR)) {
+                if (acceptedType.isCompatibleWith(representation)) {
+                    return representation;
+                }
+            }
+        }
+        return MediaType.APPLICATION_JSON;
+    }
+}
@@ -0,0 +1,18 @@
+package com.gftworkshopcatalog.exceptions;
+
+import lombok.Generated;
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+@Generated
+@Getter
+public class ConflictProduct extends RuntimeException {
+    private final HttpStatus status;
+    private final long currentVersion;
+
+    public ConflictProduct(String message, long currentVersion) {
+        super(message);
+        this.status = HttpStatus.CONFLICT;
+        this.currentVersion = currentVersion;
+    }
+}
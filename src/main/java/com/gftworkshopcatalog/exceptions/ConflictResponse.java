@@ -0,0 +1,15 @@
+package com.gftworkshopcatalog.exceptions;
+
+import lombok.*;
+import org.springframework.http.HttpStatus;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Generated
+public class ConflictResponse {
+    private String message;
+    private HttpStatus status;
+    private long currentVersion;
+}
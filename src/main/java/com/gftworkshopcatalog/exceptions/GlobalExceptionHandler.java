@@ -2,6 +2,7 @@ package com.gftworkshopcatalog.exceptions;
 
 import lombok.Generated;
 import org.springframework.dao.DataAccessException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -83,6 +84,27 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
     }
 
+    @ExceptionHandler(ConflictProduct.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ResponseEntity<ConflictResponse> handleConflictProduct(ConflictProduct exception) {
+        ConflictResponse response = ConflictResponse.builder()
+                .message(exception.getMessage())
+                .status(exception.getStatus())
+                .currentVersion(exception.getCurrentVersion())
+                .build();
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+    }
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ResponseEntity<ErrorResponse> handleOptimisticLockingFailure(OptimisticLockingFailureException ex) {
+        ErrorResponse response = ErrorResponse.builder()
+                .message("The resource was modified concurrently, reload it and retry")
+                .status(HttpStatus.CONFLICT)
+                .build();
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+    }
+
     @ExceptionHandler(DatabaseException.class)
     @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
     public ResponseEntity<ErrorResponse> handleDatabaseException(DatabaseException exception) {
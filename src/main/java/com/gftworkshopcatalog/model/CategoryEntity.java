@@ -1,6 +1,6 @@
 package com.gftworkshopcatalog.model;
 
-import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import lombok.*;
 
@@ -25,6 +25,15 @@ public class CategoryEntity {
     @Column(nullable = false)
     private String name;
 
+    @Version
+    @Column(nullable = false)
+    @EqualsAndHashCode.Exclude
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private long version;
+
+    public CategoryEntity(Long categoryId, String name) {
+        this(categoryId, name, 0L);
+    }
 
     @Override
     public String toString() {
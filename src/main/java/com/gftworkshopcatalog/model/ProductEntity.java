@@ -1,24 +1,38 @@
 package com.gftworkshopcatalog.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import jakarta.persistence.Version;
 import lombok.*;
 
+import java.util.Locale;
+
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Generated
 @Entity
-@Builder
-@Table(name = "products")
+@Builder(toBuilder = true)
+@Table(name = "products", indexes = @Index(name = "idx_products_category_name_normalized", columnList = "category_id, name_normalized"))
 public class ProductEntity {
 
+    public static final String ID_SEQUENCE = "product_id_seq";
+    public static final int ID_ALLOCATION_SIZE = 50;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "product_id_generator")
+    @SequenceGenerator(name = "product_id_generator", sequenceName = ID_SEQUENCE, initialValue = 1001, allocationSize = ID_ALLOCATION_SIZE)
     @Column(name = "product_id")
     private Long id;
 
@@ -43,6 +57,32 @@ public class ProductEntity {
     @Column(nullable = false)
     private Integer minStock;
 
+    @JsonIgnore
+    @EqualsAndHashCode.Exclude
+    @Column(name = "name_normalized")
+    private String nameNormalized;
+
+    @Transient
+    @EqualsAndHashCode.Exclude
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Double effectivePrice;
+
+    @Version
+    @Column(nullable = false)
+    @EqualsAndHashCode.Exclude
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private long version;
+
+    public ProductEntity(Long id, String name, String description, Double price, Long categoryId, Double weight,
+                         Integer currentStock, Integer minStock) {
+        this(id, name, description, price, categoryId, weight, currentStock, minStock, null, null, 0L);
+    }
+
+    @PrePersist
+    @PreUpdate
+    void normalizeName() {
+        nameNormalized = name == null ? null : name.toLowerCase(Locale.ROOT);
+    }
 
     @Override
     public String toString() {
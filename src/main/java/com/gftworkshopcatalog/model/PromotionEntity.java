@@ -1,5 +1,6 @@
 package com.gftworkshopcatalog.model;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import lombok.*;
 
@@ -41,6 +42,17 @@ public class PromotionEntity implements Serializable {
     @Column(nullable = false)
     private Boolean isActive;
 
+    @Version
+    @Column(nullable = false)
+    @EqualsAndHashCode.Exclude
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private long version;
+
+    public PromotionEntity(Long promotionId, Long categoryId, Double discount, String promotionType, Integer volumeThreshold,
+                           LocalDate startDate, LocalDate endDate, Boolean isActive) {
+        this(promotionId, categoryId, discount, promotionType, volumeThreshold, startDate, endDate, isActive, 0L);
+    }
+
     @Override
     public String toString() {
         return "PromotionEntity{" +
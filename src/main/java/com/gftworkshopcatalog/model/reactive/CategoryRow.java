@@ -0,0 +1,14 @@
+package com.gftworkshopcatalog.model.reactive;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+/**
+ * Read-only R2DBC mapping of the categories table.
+ */
+@Table("categories")
+public record CategoryRow(
+        @Id @Column("category_id") Long categoryId,
+        String name) {
+}
@@ -0,0 +1,36 @@
+package com.gftworkshopcatalog.model.reactive;
+
+import com.gftworkshopcatalog.model.ProductEntity;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+/**
+ * Read-only R2DBC mapping of the products table, converted to {@link ProductEntity} so both APIs return the same JSON.
+ */
+@Table("products")
+public record ProductRow(
+        @Id @Column("product_id") Long id,
+        String name,
+        String description,
+        Double price,
+        Long categoryId,
+        Double weight,
+        Integer currentStock,
+        Integer minStock,
+        long version) {
+
+    public ProductEntity toEntity() {
+        return ProductEntity.builder()
+                .id(id)
+                .name(name)
+                .description(description)
+                .price(price)
+                .categoryId(categoryId)
+                .weight(weight)
+                .currentStock(currentStock)
+                .minStock(minStock)
+                .version(version)
+                .build();
+    }
+}
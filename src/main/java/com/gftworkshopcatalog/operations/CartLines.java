@@ -0,0 +1,40 @@
+package com.gftworkshopcatalog.operations;
+
+/**
+ * Cart lines laid out as parallel primitive arrays for {@link ProductOperations#priceCartLines}. Each line refers to
+ * its category by a slot in the matching {@link CategoryDiscounts}. Lines are priced in place: the unit price and
+ * weight of a line are replaced by its totals.
+ */
+public final class CartLines {
+
+    final double[] prices;
+    final double[] weights;
+    final int[] quantities;
+    final int[] categorySlots;
+
+    public CartLines(int size) {
+        this.prices = new double[size];
+        this.weights = new double[size];
+        this.quantities = new int[size];
+        this.categorySlots = new int[size];
+    }
+
+    public void set(int line, double unitPrice, double unitWeight, int quantity, int categorySlot) {
+        prices[line] = unitPrice;
+        weights[line] = unitWeight;
+        quantities[line] = quantity;
+        categorySlots[line] = categorySlot;
+    }
+
+    public int size() {
+        return prices.length;
+    }
+
+    public double totalPrice(int line) {
+        return prices[line];
+    }
+
+    public double totalWeight(int line) {
+        return weights[line];
+    }
+}
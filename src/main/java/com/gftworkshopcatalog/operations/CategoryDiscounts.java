@@ -0,0 +1,43 @@
+package com.gftworkshopcatalog.operations;
+
+import com.gftworkshopcatalog.model.PromotionEntity;
+
+import java.util.Arrays;
+
+import static com.gftworkshopcatalog.operations.ProductOperations.VOLUME_PROMOTION;
+
+/**
+ * Discount table indexed by category slot for {@link ProductOperations#priceCartLines}. A slot without a seasonal
+ * promotion holds NaN, which leaves the base price unrounded; one without a volume promotion never reaches its
+ * threshold.
+ */
+public final class CategoryDiscounts {
+
+    final double[] seasonalDiscounts;
+    final double[] volumeDiscounts;
+    final int[] volumeThresholds;
+
+    public CategoryDiscounts(int categories) {
+        this.seasonalDiscounts = new double[categories];
+        this.volumeDiscounts = new double[categories];
+        this.volumeThresholds = new int[categories];
+        Arrays.fill(seasonalDiscounts, Double.NaN);
+        Arrays.fill(volumeThresholds, Integer.MAX_VALUE);
+    }
+
+    public void setSeasonalPromotion(int categorySlot, PromotionEntity promotion) {
+        if (promotion != null) {
+            seasonalDiscounts[categorySlot] = promotion.getDiscount();
+        }
+    }
+
+    /**
+     * Only an active volume promotion is applied; any other promotion leaves the slot without volume discount.
+     */
+    public void setVolumePromotion(int categorySlot, PromotionEntity promotion) {
+        if (promotion != null && promotion.getIsActive() && VOLUME_PROMOTION.equalsIgnoreCase(promotion.getPromotionType())) {
+            volumeDiscounts[categorySlot] = promotion.getDiscount();
+            volumeThresholds[categorySlot] = promotion.getVolumeThreshold();
+        }
+    }
+}
@@ -1,12 +1,57 @@
 package com.gftworkshopcatalog.operations;
+import com.gftworkshopcatalog.model.ProductEntity;
 import com.gftworkshopcatalog.model.PromotionEntity;
 
 public class ProductOperations {
 
+    public static final String SEASONAL_PROMOTION = "SEASONAL";
+    public static final String VOLUME_PROMOTION = "VOLUME";
+
     public static double calculateNewPrice(double originalPrice, PromotionEntity promotion, int quantity) {
-        if (quantity >= promotion.getVolumeThreshold()) {
-            return originalPrice * (1 - promotion.getDiscount());
+        return calculateNewPrice(originalPrice, promotion.getDiscount(), promotion.getVolumeThreshold(), quantity);
+    }
+
+    public static double calculateNewPrice(double originalPrice, double discount, int volumeThreshold, int quantity) {
+        if (quantity >= volumeThreshold) {
+            return originalPrice * (1 - discount);
         }
         return originalPrice;
     }
+
+    public static Double calculateEffectivePrice(Double basePrice, PromotionEntity seasonalPromotion) {
+        if (basePrice == null || seasonalPromotion == null) {
+            return basePrice;
+        }
+        return calculateEffectivePrice(basePrice.doubleValue(), seasonalPromotion.getDiscount());
+    }
+
+    public static double calculateEffectivePrice(double basePrice, double seasonalDiscount) {
+        return Math.round(basePrice * (1 - seasonalDiscount) * 100) / 100.0;
+    }
+
+    public static ProductEntity withEffectivePrice(ProductEntity product, PromotionEntity seasonalPromotion) {
+        return product.toBuilder()
+                .effectivePrice(calculateEffectivePrice(product.getPrice(), seasonalPromotion))
+                .build();
+    }
+
+    /**
+     * Replaces each cart line by its totals: the unit price after the seasonal discount of the line's category, then
+     * its volume discount when the quantity reaches the threshold, times the quantity. Works on the primitive arrays
+     * only and allocates nothing; the results match pricing each line through the entity-based methods above.
+     */
+    public static void priceCartLines(CartLines lines, CategoryDiscounts discounts) {
+        for (int line = 0; line < lines.size(); line++) {
+            int category = lines.categorySlots[line];
+            int quantity = lines.quantities[line];
+            double unitPrice = lines.prices[line];
+            double seasonalDiscount = discounts.seasonalDiscounts[category];
+            if (!Double.isNaN(seasonalDiscount)) {
+                unitPrice = calculateEffectivePrice(unitPrice, seasonalDiscount);
+            }
+            unitPrice = calculateNewPrice(unitPrice, discounts.volumeDiscounts[category], discounts.volumeThresholds[category], quantity);
+            lines.prices[line] = unitPrice * quantity;
+            lines.weights[line] = lines.weights[line] * quantity;
+        }
+    }
 }
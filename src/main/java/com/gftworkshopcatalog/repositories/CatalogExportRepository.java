@@ -0,0 +1,56 @@
+package com.gftworkshopcatalog.repositories;
+
+import com.gftworkshopcatalog.model.CategoryEntity;
+import com.gftworkshopcatalog.model.ProductEntity;
+import com.gftworkshopcatalog.model.PromotionEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.function.Consumer;
+
+/**
+ * Reads whole tables for the catalog export through forward-only JDBC cursors, handing each row to the consumer
+ * as soon as it is read, so memory does not grow with the table. MySQL only honours the fetch size with
+ * useCursorFetch=true on the connection URL.
+ */
+@Repository
+public class CatalogExportRepository {
+
+    private static final int EXPORT_FETCH_SIZE = 500;
+    private static final String CATEGORIES_SQL = "SELECT category_id, name FROM categories ORDER BY category_id";
+    private static final String PRODUCTS_SQL = "SELECT product_id, name, description, price, category_id, weight, "
+            + "current_stock, min_stock FROM products ORDER BY product_id";
+    private static final String PROMOTIONS_SQL = "SELECT promotion_id, category_id, discount, promotion_type, "
+            + "volume_threshold, start_date, end_date, is_active FROM promotions ORDER BY promotion_id";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public CatalogExportRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = new JdbcTemplate(jdbcTemplate.getDataSource());
+        this.jdbcTemplate.setFetchSize(EXPORT_FETCH_SIZE);
+    }
+
+    public void forEachCategory(Consumer<CategoryEntity> consumer) {
+        jdbcTemplate.query(CATEGORIES_SQL, rs -> {
+            consumer.accept(new CategoryEntity(rs.getLong("category_id"), rs.getString("name")));
+        });
+    }
+
+    public void forEachProduct(Consumer<ProductEntity> consumer) {
+        jdbcTemplate.query(PRODUCTS_SQL, rs -> {
+            consumer.accept(new ProductEntity(rs.getLong("product_id"), rs.getString("name"), rs.getString("description"),
+                    rs.getDouble("price"), rs.getLong("category_id"), rs.getDouble("weight"),
+                    rs.getInt("current_stock"), rs.getInt("min_stock")));
+        });
+    }
+
+    public void forEachPromotion(Consumer<PromotionEntity> consumer) {
+        jdbcTemplate.query(PROMOTIONS_SQL, rs -> {
+            consumer.accept(new PromotionEntity(rs.getLong("promotion_id"), rs.getLong("category_id"),
+                    rs.getDouble("discount"), rs.getString("promotion_type"), rs.getObject("volume_threshold", Integer.class),
+                    rs.getObject("start_date", LocalDate.class), rs.getObject("end_date", LocalDate.class),
+                    rs.getBoolean("is_active")));
+        });
+    }
+}
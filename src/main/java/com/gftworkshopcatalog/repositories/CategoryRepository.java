@@ -5,9 +5,12 @@ import com.gftworkshopcatalog.model.CategoryEntity;
 import lombok.Generated;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 @Generated
 @Repository
 public interface CategoryRepository extends JpaRepository<CategoryEntity, Long> {
+    @Query("SELECT new com.gftworkshopcatalog.repositories.CollectionVersion(COUNT(c), COALESCE(SUM(c.version), 0L), COALESCE(SUM(c.categoryId), 0L)) FROM CategoryEntity c")
+    CollectionVersion findCollectionVersion();
 }
@@ -0,0 +1,13 @@
+package com.gftworkshopcatalog.repositories;
+
+/**
+ * Version of a whole table computed by one aggregate query. Every insert or delete changes the row count or the
+ * sum of IDs, which are never reused, and every update increments one row version, so the triple changes whenever
+ * the collection does without reading its rows.
+ */
+public record CollectionVersion(long count, long versionSum, long idSum) {
+
+    public String toETag() {
+        return count + "-" + versionSum + "-" + idSum;
+    }
+}
@@ -2,16 +2,27 @@ package com.gftworkshopcatalog.repositories;
 
 import com.gftworkshopcatalog.model.ProductEntity;
 import lombok.Generated;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
 @Generated
 @Repository
-public interface ProductRepository extends JpaRepository<ProductEntity, Long> {
+public interface ProductRepository extends JpaRepository<ProductEntity, Long>, ProductRepositoryCustom {
     List<ProductEntity> findByCategoryId(Long categoryId);
-    @Query("SELECT p FROM ProductEntity p WHERE p.categoryId = :categoryId AND p.name LIKE :namePrefix")
+    List<ProductEntity> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+    @Query("SELECT p FROM ProductEntity p WHERE p.categoryId = :categoryId AND p.nameNormalized LIKE :namePrefix ESCAPE '\\'")
     List<ProductEntity> findByCategoryIdAndNameStartsWith(Long categoryId, String namePrefix);
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE ProductEntity p SET p.currentStock = p.currentStock + :quantity, p.version = p.version + 1 WHERE p.id = :productId AND p.currentStock + :quantity >= 0")
+    int adjustStock(Long productId, int quantity);
+    @Transactional
+    @Modifying
+    @Query("UPDATE ProductEntity p SET p.nameNormalized = LOWER(p.name) WHERE p.nameNormalized IS NULL")
+    int normalizeMissingNames();
 }
@@ -0,0 +1,18 @@
+package com.gftworkshopcatalog.repositories;
+
+import com.gftworkshopcatalog.api.dto.StockReservationDTO;
+import com.gftworkshopcatalog.model.ProductEntity;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+public interface ProductRepositoryCustom {
+    int[] adjustStockInBatch(List<StockReservationDTO> reservations);
+    Map<Long, Integer> findCurrentStocks(Collection<Long> productIds);
+    Stream<ProductEntity> streamAllOrderedById();
+    @Transactional
+    List<ProductEntity> insertAll(List<ProductEntity> products);
+}
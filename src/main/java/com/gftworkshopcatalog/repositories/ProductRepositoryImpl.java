@@ -0,0 +1,96 @@
+package com.gftworkshopcatalog.repositories;
+
+import com.gftworkshopcatalog.api.dto.StockReservationDTO;
+import com.gftworkshopcatalog.model.ProductEntity;
+import jakarta.persistence.EntityManager;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+public class ProductRepositoryImpl implements ProductRepositoryCustom {
+
+    private static final String ADJUST_STOCK_SQL =
+            "UPDATE products SET current_stock = current_stock + ?, version = version + 1 WHERE product_id = ? AND current_stock + ? >= 0";
+    private static final String CURRENT_STOCKS_SQL =
+            "SELECT product_id, current_stock FROM products WHERE product_id IN (:productIds)";
+    private static final String ALL_PRODUCTS_BY_ID_JPQL = "SELECT p FROM ProductEntity p ORDER BY p.id";
+    private static final int STREAM_FETCH_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final EntityManager entityManager;
+
+    public ProductRepositoryImpl(JdbcTemplate jdbcTemplate, EntityManager entityManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManager = entityManager;
+        this.namedParameterJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+    }
+
+    @Override
+    public int[] adjustStockInBatch(List<StockReservationDTO> reservations) {
+        return jdbcTemplate.batchUpdate(ADJUST_STOCK_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                StockReservationDTO reservation = reservations.get(i);
+                ps.setInt(1, reservation.getQuantity());
+                ps.setLong(2, reservation.getProductId());
+                ps.setInt(3, reservation.getQuantity());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return reservations.size();
+            }
+        });
+    }
+
+    @Override
+    public Map<Long, Integer> findCurrentStocks(Collection<Long> productIds) {
+        Map<Long, Integer> currentStocks = new HashMap<>();
+        namedParameterJdbcTemplate.query(CURRENT_STOCKS_SQL, new MapSqlParameterSource("productIds", productIds),
+                rs -> {
+                    currentStocks.put(rs.getLong("product_id"), rs.getInt("current_stock"));
+                });
+        return currentStocks;
+    }
+
+    /**
+     * Reads the whole catalog through a forward-only cursor. Every row is detached as soon as it is read,
+     * so the persistence context does not grow with the catalog. Must be consumed inside a transaction.
+     * The fetch size only bounds memory if the driver honours it: MySQL Connector/J buffers the whole result
+     * unless the URL sets useCursorFetch=true, as application-production.yml does.
+     */
+    @Override
+    public Stream<ProductEntity> streamAllOrderedById() {
+        return entityManager.createQuery(ALL_PRODUCTS_BY_ID_JPQL, ProductEntity.class)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, STREAM_FETCH_SIZE)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream()
+                .map(product -> {
+                    entityManager.detach(product);
+                    return product;
+                });
+    }
+
+    /**
+     * Persists new products and flushes them as JDBC batches of hibernate.jdbc.batch_size inserts; IDs come from the
+     * pooled product_id_seq, so no statement waits for a generated key. The products are detached afterwards.
+     */
+    @Override
+    public List<ProductEntity> insertAll(List<ProductEntity> products) {
+        products.forEach(entityManager::persist);
+        entityManager.flush();
+        products.forEach(entityManager::detach);
+        return products;
+    }
+}
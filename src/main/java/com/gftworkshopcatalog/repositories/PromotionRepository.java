@@ -4,15 +4,32 @@ import com.gftworkshopcatalog.model.ProductEntity;
 import com.gftworkshopcatalog.model.PromotionEntity;
 import lombok.Generated;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 @Generated
 @Repository
 public interface PromotionRepository extends JpaRepository<PromotionEntity, Long> {
-    PromotionEntity findActivePromotionByCategoryId(Long categoryId);
     List<PromotionEntity> findByCategoryId(Long categoryId);
-
+    List<PromotionEntity> findByEndDateGreaterThanEqual(LocalDate date);
+    @Query("SELECT new com.gftworkshopcatalog.repositories.CollectionVersion(COUNT(p), COALESCE(SUM(p.version), 0L), COALESCE(SUM(p.promotionId), 0L)) FROM PromotionEntity p")
+    CollectionVersion findCollectionVersion();
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE PromotionEntity p SET p.isActive = :active, p.version = p.version + 1 WHERE p.promotionId IN :promotionIds AND p.isActive <> :active")
+    int updateActiveStatus(Collection<Long> promotionIds, boolean active);
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE PromotionEntity p SET p.isActive = true, p.version = p.version + 1 WHERE p.isActive = false AND p.startDate <= :today AND p.endDate >= :today")
+    int activateStartedPromotions(LocalDate today);
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE PromotionEntity p SET p.isActive = false, p.version = p.version + 1 WHERE p.isActive = true AND (p.startDate > :today OR p.endDate < :today)")
+    int deactivateOutOfRangePromotions(LocalDate today);
 }
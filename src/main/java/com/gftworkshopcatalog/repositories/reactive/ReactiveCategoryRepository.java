@@ -0,0 +1,11 @@
+package com.gftworkshopcatalog.repositories.reactive;
+
+import com.gftworkshopcatalog.model.reactive.CategoryRow;
+import lombok.Generated;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import org.springframework.stereotype.Repository;
+
+@Generated
+@Repository
+public interface ReactiveCategoryRepository extends ReactiveCrudRepository<CategoryRow, Long> {
+}
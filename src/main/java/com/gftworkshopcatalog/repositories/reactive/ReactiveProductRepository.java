@@ -0,0 +1,13 @@
+package com.gftworkshopcatalog.repositories.reactive;
+
+import com.gftworkshopcatalog.model.reactive.ProductRow;
+import lombok.Generated;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+@Generated
+@Repository
+public interface ReactiveProductRepository extends ReactiveCrudRepository<ProductRow, Long> {
+    Flux<ProductRow> findByCategoryIdOrderById(Long categoryId);
+}
@@ -0,0 +1,131 @@
+package com.gftworkshopcatalog.scheduling;
+
+import com.gftworkshopcatalog.cache.ActivePromotionIndex;
+import com.gftworkshopcatalog.model.PromotionEntity;
+import com.gftworkshopcatalog.repositories.PromotionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ScheduledFuture;
+
+/**
+ * Flips the is_active flag of promotions when their start or end date is reached. Pending transitions are kept
+ * in a priority queue ordered by date and only the earliest one has a task scheduled; each run updates just the
+ * promotions whose boundary has passed and then rebuilds the {@link ActivePromotionIndex}.
+ */
+@Slf4j
+@Component
+public class PromotionLifecycleScheduler {
+
+    private final PromotionRepository promotionRepository;
+    private final ActivePromotionIndex activePromotionIndex;
+    private final TaskScheduler taskScheduler;
+    private final Clock clock;
+    private final PriorityQueue<Transition> transitions = new PriorityQueue<>(Comparator.comparing(Transition::date));
+    private ScheduledFuture<?> nextRun;
+    private LocalDate nextRunDate;
+
+    public PromotionLifecycleScheduler(PromotionRepository promotionRepository, ActivePromotionIndex activePromotionIndex,
+                                       TaskScheduler taskScheduler, Clock clock) {
+        this.promotionRepository = promotionRepository;
+        this.activePromotionIndex = activePromotionIndex;
+        this.taskScheduler = taskScheduler;
+        this.clock = clock;
+    }
+
+    public void loadTransitions() {
+        LocalDate today = LocalDate.now(clock);
+        int activated = promotionRepository.activateStartedPromotions(today);
+        int deactivated = promotionRepository.deactivateOutOfRangePromotions(today);
+        List<PromotionEntity> pendingPromotions = promotionRepository.findByEndDateGreaterThanEqual(today);
+        synchronized (this) {
+            pendingPromotions.forEach(promotion -> enqueueBoundaries(promotion, today));
+            scheduleNextRun();
+        }
+        if (activated + deactivated > 0) {
+            activePromotionIndex.refresh();
+        }
+        log.info("Promotion lifecycle started: {} activated, {} deactivated, {} transitions pending",
+                activated, deactivated, transitions.size());
+    }
+
+    public synchronized void track(PromotionEntity promotion) {
+        transitions.removeIf(transition -> transition.promotionId().equals(promotion.getPromotionId()));
+        LocalDate today = LocalDate.now(clock);
+        boolean activeToday = isActiveOn(promotion, today);
+        if (!Boolean.valueOf(activeToday).equals(promotion.getIsActive())) {
+            transitions.add(new Transition(today, promotion.getPromotionId(), activeToday));
+        }
+        enqueueBoundaries(promotion, today);
+        scheduleNextRun();
+    }
+
+    public synchronized void untrack(Long promotionId) {
+        transitions.removeIf(transition -> transition.promotionId().equals(promotionId));
+    }
+
+    void runDueTransitions() {
+        LocalDate today = LocalDate.now(clock);
+        Map<Long, Boolean> activeByPromotionId = new LinkedHashMap<>();
+        synchronized (this) {
+            nextRun = null;
+            nextRunDate = null;
+            while (!transitions.isEmpty() && !transitions.peek().date().isAfter(today)) {
+                Transition transition = transitions.poll();
+                activeByPromotionId.put(transition.promotionId(), transition.active());
+            }
+        }
+        try {
+            applyTransitions(activeByPromotionId);
+        } finally {
+            synchronized (this) {
+                scheduleNextRun();
+            }
+        }
+    }
+
+    private void applyTransitions(Map<Long, Boolean> activeByPromotionId) {
+        if (activeByPromotionId.isEmpty()) {
+            return;
+        }
+        List<Long> toActivate = new ArrayList<>();
+        List<Long> toDeactivate = new ArrayList<>();
+        activeByPromotionId.forEach((promotionId, active) -> (active ? toActivate : toDeactivate).add(promotionId));
+        int activated = toActivate.isEmpty() ? 0 : promotionRepository.updateActiveStatus(toActivate, true);
+        int deactivated = toDeactivate.isEmpty() ? 0 : promotionRepository.updateActiveStatus(toDeactivate, false);
+        activePromotionIndex.refresh();
+        log.info("Promotion transitions applied: {} activated, {} deactivated", activated, deactivated);
+    }
+
+    private void enqueueBoundaries(PromotionEntity promotion, LocalDate today) {
+        if (promotion.getStartDate().isAfter(today)) {
+            transitions.add(new Transition(promotion.getStartDate(), promotion.getPromotionId(), true));
+        }
+        if (!promotion.getEndDate().isBefore(today)) {
+            transitions.add(new Transition(promotion.getEndDate().plusDays(1), promotion.getPromotionId(), false));
+        }
+    }
+
+    private void scheduleNextRun() {
+        Transition next = transitions.peek();
+        if (next == null || (nextRun != null && !nextRunDate.isAfter(next.date()))) {
+            return;
+        }
+        if (nextRun != null) {
+            nextRun.cancel(false);
+        }
+        nextRunDate = next.date();
+        nextRun = taskScheduler.schedule(this::runDueTransitions, nextRunDate.atStartOfDay(clock.getZone()).toInstant());
+    }
+
+    private static boolean isActiveOn(PromotionEntity promotion, LocalDate day) {
+        return !day.isBefore(promotion.getStartDate()) && !day.isAfter(promotion.getEndDate());
+    }
+
+    private record Transition(LocalDate date, Long promotionId, boolean active) {
+    }
+}
@@ -0,0 +1,292 @@
+package com.gftworkshopcatalog.search;
+
+import com.gftworkshopcatalog.cache.ActivePromotionIndex;
+import com.gftworkshopcatalog.model.ProductEntity;
+import com.gftworkshopcatalog.model.PromotionEntity;
+import com.gftworkshopcatalog.repositories.ProductRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+import static com.gftworkshopcatalog.operations.ProductOperations.SEASONAL_PROMOTION;
+import static com.gftworkshopcatalog.operations.ProductOperations.calculateEffectivePrice;
+
+/**
+ * Inverted index over product name and description, ranked with BM25. Name terms count
+ * {@value #NAME_WEIGHT} times so a match in the name outranks the same match in the description.
+ * Built from the products table on first use or warmup and kept in sync as products are written; writes that
+ * arrive while a rebuild reads the table are replayed on the rebuilt index. Price filters apply to the effective
+ * price, after the category's active seasonal promotion, as shown in the results. Queries share a read lock and
+ * are timed in catalog.search.query.
+ */
+@Slf4j
+@Component
+public class ProductSearchIndex {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int NAME_WEIGHT = 3;
+    private static final int REBUILD_BATCH_SIZE = 1000;
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final ProductRepository productRepository;
+    private final ActivePromotionIndex activePromotionIndex;
+    private final Timer queryTimer;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Map<String, Map<Long, Integer>> postings = new HashMap<>();
+    private Map<Long, Document> documents = new HashMap<>();
+    private long totalLength;
+    private Map<Long, Document> writesDuringRebuild;
+    private volatile boolean built;
+
+    public ProductSearchIndex(ProductRepository productRepository, ActivePromotionIndex activePromotionIndex,
+                              MeterRegistry meterRegistry) {
+        this.productRepository = productRepository;
+        this.activePromotionIndex = activePromotionIndex;
+        this.queryTimer = Timer.builder("catalog.search.query")
+                .description("Latency of full-text product searches")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    public Result search(String query, Long categoryId, Double minPrice, Double maxPrice, int offset, int limit) {
+        ensureBuilt();
+        return queryTimer.record(() -> {
+            // Taken before the lock: renewing an expired snapshot reads the database, and writers would wait on it
+            ActivePromotionIndex.Snapshot promotions = minPrice == null && maxPrice == null
+                    ? null : activePromotionIndex.currentSnapshot();
+            lock.readLock().lock();
+            try {
+                return rank(tokenize(query).keySet(), categoryId, minPrice, maxPrice, promotions, offset, limit);
+            } finally {
+                lock.readLock().unlock();
+            }
+        });
+    }
+
+    public synchronized void rebuild() {
+        lock.writeLock().lock();
+        try {
+            writesDuringRebuild = new LinkedHashMap<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        try {
+            swap(readProducts());
+        } finally {
+            lock.writeLock().lock();
+            try {
+                writesDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    private Index readProducts() {
+        Map<String, Map<Long, Integer>> rebuiltPostings = new HashMap<>();
+        Map<Long, Document> rebuiltDocuments = new HashMap<>();
+        long rebuiltLength = 0;
+        List<CompletableFuture<List<Document>>> batches = new ArrayList<>();
+        long lastId = 0;
+        List<ProductEntity> products;
+        do {
+            products = productRepository.findByIdGreaterThanOrderByIdAsc(lastId, Limit.of(REBUILD_BATCH_SIZE));
+            if (!products.isEmpty()) {
+                List<ProductEntity> batch = products;
+                batches.add(CompletableFuture.supplyAsync(() -> batch.stream().map(Document::of).toList()));
+                lastId = products.get(products.size() - 1).getId();
+            }
+        } while (products.size() == REBUILD_BATCH_SIZE);
+        for (CompletableFuture<List<Document>> batch : batches) {
+            for (Document document : batch.join()) {
+                rebuiltDocuments.put(document.productId(), document);
+                addPostings(rebuiltPostings, document);
+                rebuiltLength += document.length();
+            }
+        }
+        return new Index(rebuiltPostings, rebuiltDocuments, rebuiltLength);
+    }
+
+    private void swap(Index index) {
+        int replayed;
+        lock.writeLock().lock();
+        try {
+            postings = index.postings();
+            documents = index.documents();
+            totalLength = index.totalLength();
+            replayed = writesDuringRebuild.size();
+            // The table was read without the lock, so writes made meanwhile may be missing from it; a null document is a removal
+            writesDuringRebuild.forEach((productId, document) -> {
+                removeDocument(productId);
+                if (document != null) {
+                    addDocument(document);
+                }
+            });
+            built = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Product search index built for {} products and {} terms, {} writes replayed",
+                index.documents().size(), index.postings().size(), replayed);
+    }
+
+    public void put(ProductEntity product) {
+        Document document = Document.of(product);
+        lock.writeLock().lock();
+        try {
+            if (writesDuringRebuild != null) {
+                writesDuringRebuild.put(document.productId(), document);
+            }
+            if (built) {
+                removeDocument(document.productId());
+                addDocument(document);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long productId) {
+        lock.writeLock().lock();
+        try {
+            if (writesDuringRebuild != null) {
+                writesDuringRebuild.put(productId, null);
+            }
+            removeDocument(productId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private Result rank(Set<String> terms, Long categoryId, Double minPrice, Double maxPrice,
+                        ActivePromotionIndex.Snapshot promotions, int offset, int limit) {
+        int documentCount = documents.size();
+        if (documentCount == 0) {
+            return new Result(List.of(), 0);
+        }
+        double averageLength = (double) totalLength / documentCount;
+        Map<Long, Double> scores = new HashMap<>();
+        for (String term : terms) {
+            Map<Long, Integer> termPostings = postings.get(term);
+            if (termPostings == null) {
+                continue;
+            }
+            double idf = Math.log(1 + (documentCount - termPostings.size() + 0.5) / (termPostings.size() + 0.5));
+            termPostings.forEach((productId, frequency) -> {
+                Document document = documents.get(productId);
+                if (document.matches(categoryId) && matchesPrice(document, minPrice, maxPrice, promotions)) {
+                    double normalization = K1 * (1 - B + B * document.length() / averageLength);
+                    scores.merge(productId, idf * frequency * (K1 + 1) / (frequency + normalization), Double::sum);
+                }
+            });
+        }
+        List<Hit> hits = scores.entrySet().stream()
+                .map(score -> new Hit(score.getKey(), score.getValue()))
+                .sorted(Comparator.comparingDouble(Hit::score).reversed().thenComparing(Hit::productId))
+                .skip(offset)
+                .limit(limit)
+                .toList();
+        return new Result(hits, scores.size());
+    }
+
+    private static boolean matchesPrice(Document document, Double minPrice, Double maxPrice,
+                                        ActivePromotionIndex.Snapshot promotions) {
+        if (minPrice == null && maxPrice == null) {
+            return true;
+        }
+        PromotionEntity seasonalPromotion = promotions.findActivePromotion(document.categoryId(), SEASONAL_PROMOTION);
+        Double price = calculateEffectivePrice(document.price(), seasonalPromotion);
+        return (minPrice == null || (price != null && price >= minPrice))
+                && (maxPrice == null || (price != null && price <= maxPrice));
+    }
+
+    private void addDocument(Document document) {
+        documents.put(document.productId(), document);
+        addPostings(postings, document);
+        totalLength += document.length();
+    }
+
+    private void removeDocument(Long productId) {
+        Document previous = documents.remove(productId);
+        if (previous == null) {
+            return;
+        }
+        for (String term : previous.termFrequencies().keySet()) {
+            Map<Long, Integer> termPostings = postings.get(term);
+            termPostings.remove(productId);
+            if (termPostings.isEmpty()) {
+                postings.remove(term);
+            }
+        }
+        totalLength -= previous.length();
+    }
+
+    private void ensureBuilt() {
+        if (!built) {
+            synchronized (this) {
+                if (!built) {
+                    rebuild();
+                }
+            }
+        }
+    }
+
+    private static void addPostings(Map<String, Map<Long, Integer>> postings, Document document) {
+        document.termFrequencies().forEach((term, frequency) ->
+                postings.computeIfAbsent(term, key -> new HashMap<>()).put(document.productId(), frequency));
+    }
+
+    static Map<String, Integer> tokenize(String text) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        addTokens(frequencies, text, 1);
+        return frequencies;
+    }
+
+    private static void addTokens(Map<String, Integer> frequencies, String text, int weight) {
+        if (text == null) {
+            return;
+        }
+        String folded = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        for (String token : SEPARATORS.split(folded.toLowerCase(Locale.ROOT))) {
+            if (!token.isEmpty()) {
+                frequencies.merge(token, weight, Integer::sum);
+            }
+        }
+    }
+
+    public record Hit(Long productId, double score) {
+    }
+
+    public record Result(List<Hit> hits, int total) {
+    }
+
+    private record Index(Map<String, Map<Long, Integer>> postings, Map<Long, Document> documents, long totalLength) {
+    }
+
+    private record Document(Long productId, Long categoryId, Double price, int length, Map<String, Integer> termFrequencies) {
+
+        static Document of(ProductEntity product) {
+            Map<String, Integer> frequencies = new HashMap<>();
+            addTokens(frequencies, product.getName(), NAME_WEIGHT);
+            addTokens(frequencies, product.getDescription(), 1);
+            int length = frequencies.values().stream().mapToInt(Integer::intValue).sum();
+            return new Document(product.getId(), product.getCategoryId(), product.getPrice(), length, frequencies);
+        }
+
+        boolean matches(Long categoryId) {
+            return categoryId == null || categoryId.equals(this.categoryId);
+        }
+    }
+}
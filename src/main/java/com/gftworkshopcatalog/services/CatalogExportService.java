@@ -0,0 +1,8 @@
+package com.gftworkshopcatalog.services;
+
+import java.io.OutputStream;
+
+public interface CatalogExportService {
+
+    void exportCatalog(OutputStream outputStream);
+}
@@ -1,7 +1,9 @@
 package com.gftworkshopcatalog.services;
 
+import com.gftworkshopcatalog.api.dto.ProductSuggestionDTO;
 import com.gftworkshopcatalog.model.CategoryEntity;
 import com.gftworkshopcatalog.model.ProductEntity;
+import com.gftworkshopcatalog.repositories.CollectionVersion;
 
 import java.util.List;
 
@@ -11,6 +13,8 @@ public interface CategoryService {
 
     List<CategoryEntity> getAllCategories();
 
+    CollectionVersion getCategoriesVersion();
+
     void deleteCategoryById(long categoryId);
 
     CategoryEntity findCategoryById(long categoryId);
@@ -19,4 +23,6 @@ public interface CategoryService {
 
     List<ProductEntity> findProductsByCategoryIdAndName(Long categoryId, String namePref);
 
+    List<ProductSuggestionDTO> suggestProductNames(Long categoryId, String prefix, int limit);
+
 }
@@ -0,0 +1,12 @@
+package com.gftworkshopcatalog.services;
+
+import com.gftworkshopcatalog.api.dto.ProductImportResultDTO;
+
+import java.io.InputStream;
+
+public interface ProductImportService {
+
+    enum Format { CSV, NDJSON }
+
+    ProductImportResultDTO importProducts(InputStream input, Format format);
+}
@@ -1,19 +1,30 @@
 package com.gftworkshopcatalog.services;
 
 import com.gftworkshopcatalog.api.dto.CartProductDTO;
+import com.gftworkshopcatalog.api.dto.ProductPageDTO;
+import com.gftworkshopcatalog.api.dto.ProductSearchPageDTO;
+import com.gftworkshopcatalog.api.dto.StockReservationDTO;
+import com.gftworkshopcatalog.api.dto.StockReservationResultDTO;
 import com.gftworkshopcatalog.model.ProductEntity;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface ProductService {
 
     List<ProductEntity> findAllProducts();
+    ProductPageDTO findProductsPage(Long after, int size);
+    ProductSearchPageDTO searchProducts(String query, Long categoryId, Double minPrice, Double maxPrice, int page, int size);
+    void streamAllProducts(Consumer<ProductEntity> consumer);
     ProductEntity findProductById(long productId);
     List<ProductEntity> findProductsByIds(List<Long> ids);
     ProductEntity addProduct(ProductEntity productEntity);
     ProductEntity updateProduct(Long productId, ProductEntity productEntityDetails);
+    ProductEntity updateProduct(Long productId, ProductEntity productEntityDetails, Long expectedVersion);
     void deleteProduct(long productId);
     ProductEntity updateProductPrice(long productId, double newPrice);
+    ProductEntity updateProductPrice(long productId, double newPrice, Long expectedVersion);
     ProductEntity updateProductStock(long productId, int newStock);
+    List<StockReservationResultDTO> reserveStock(List<StockReservationDTO> reservations);
     List<ProductEntity> calculateListDiscountedPrice(List<CartProductDTO> cartProducts);
 }
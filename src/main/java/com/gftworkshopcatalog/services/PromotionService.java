@@ -1,11 +1,13 @@
 package com.gftworkshopcatalog.services;
 
 import com.gftworkshopcatalog.model.PromotionEntity;
+import com.gftworkshopcatalog.repositories.CollectionVersion;
 
 import java.util.List;
 
 public interface PromotionService {
     List<PromotionEntity> findAllPromotions();
+    CollectionVersion findPromotionsVersion();
     PromotionEntity findPromotionById(long promotionId);
     PromotionEntity addPromotion(PromotionEntity promotionEntity);
     PromotionEntity updatePromotion(long promotionId, PromotionEntity promotionEntityDetails);
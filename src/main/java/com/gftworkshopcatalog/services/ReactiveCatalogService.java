@@ -0,0 +1,14 @@
+package com.gftworkshopcatalog.services;
+
+import com.gftworkshopcatalog.model.ProductEntity;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+public interface ReactiveCatalogService {
+    Mono<ProductEntity> findProductById(long productId);
+    Flux<ProductEntity> findProductsByIds(List<Long> ids);
+    Mono<Void> requireCategory(long categoryId);
+    Flux<ProductEntity> findProductsByCategoryId(long categoryId);
+}
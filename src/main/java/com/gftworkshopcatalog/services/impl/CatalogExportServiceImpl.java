@@ -0,0 +1,115 @@
+package com.gftworkshopcatalog.services.impl;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.gftworkshopcatalog.model.CategoryEntity;
+import com.gftworkshopcatalog.model.ProductEntity;
+import com.gftworkshopcatalog.model.PromotionEntity;
+import com.gftworkshopcatalog.repositories.CatalogExportRepository;
+import com.gftworkshopcatalog.services.CatalogExportService;
+import io.micrometer.core.annotation.Timed;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+/**
+ * Writes the catalog as a CBOR sequence (RFC 8742): for each of categories, products and promotions a header map
+ * with the section name and its column names, followed by one CBOR array of values per row in column order.
+ * Rows go from the JDBC cursor to the output stream one at a time. Dates are ISO-8601 strings.
+ */
+@Slf4j
+@Service
+@Timed(value = "catalog.service", histogram = true, percentiles = {0.5, 0.95, 0.99})
+public class CatalogExportServiceImpl implements CatalogExportService {
+
+    static final List<String> CATEGORY_COLUMNS = List.of("categoryId", "name");
+    static final List<String> PRODUCT_COLUMNS = List.of("id", "name", "description", "price", "categoryId", "weight",
+            "currentStock", "minStock");
+    static final List<String> PROMOTION_COLUMNS = List.of("promotionId", "categoryId", "discount", "promotionType",
+            "volumeThreshold", "startDate", "endDate", "isActive");
+
+    private final CatalogExportRepository catalogExportRepository;
+    private final CBORFactory cborFactory = new CBORFactory();
+
+    public CatalogExportServiceImpl(CatalogExportRepository catalogExportRepository) {
+        this.catalogExportRepository = catalogExportRepository;
+    }
+
+    public void exportCatalog(OutputStream outputStream) {
+        log.info("Exporting catalog");
+        try (JsonGenerator generator = cborFactory.createGenerator(outputStream)) {
+            writeHeader(generator, "categories", CATEGORY_COLUMNS);
+            catalogExportRepository.forEachCategory(category -> writeRow(generator, category));
+            writeHeader(generator, "products", PRODUCT_COLUMNS);
+            catalogExportRepository.forEachProduct(product -> writeRow(generator, product));
+            writeHeader(generator, "promotions", PROMOTION_COLUMNS);
+            catalogExportRepository.forEachPromotion(promotion -> writeRow(generator, promotion));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void writeHeader(JsonGenerator generator, String section, List<String> columns) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("section", section);
+        generator.writeArrayFieldStart("columns");
+        for (String column : columns) {
+            generator.writeString(column);
+        }
+        generator.writeEndArray();
+        generator.writeEndObject();
+    }
+
+    private static void writeRow(JsonGenerator generator, CategoryEntity category) {
+        try {
+            generator.writeStartArray(null, CATEGORY_COLUMNS.size());
+            generator.writeNumber(category.getCategoryId());
+            generator.writeString(category.getName());
+            generator.writeEndArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void writeRow(JsonGenerator generator, ProductEntity product) {
+        try {
+            generator.writeStartArray(null, PRODUCT_COLUMNS.size());
+            generator.writeNumber(product.getId());
+            generator.writeString(product.getName());
+            generator.writeString(product.getDescription());
+            generator.writeNumber(product.getPrice());
+            generator.writeNumber(product.getCategoryId());
+            generator.writeNumber(product.getWeight());
+            generator.writeNumber(product.getCurrentStock());
+            generator.writeNumber(product.getMinStock());
+            generator.writeEndArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void writeRow(JsonGenerator generator, PromotionEntity promotion) {
+        try {
+            generator.writeStartArray(null, PROMOTION_COLUMNS.size());
+            generator.writeNumber(promotion.getPromotionId());
+            generator.writeNumber(promotion.getCategoryId());
+            generator.writeNumber(promotion.getDiscount());
+            generator.writeString(promotion.getPromotionType());
+            if (promotion.getVolumeThreshold() == null) {
+                generator.writeNull();
+            } else {
+                generator.writeNumber(promotion.getVolumeThreshold());
+            }
+            generator.writeString(promotion.getStartDate().toString());
+            generator.writeString(promotion.getEndDate().toString());
+            generator.writeBoolean(promotion.getIsActive());
+            generator.writeEndArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
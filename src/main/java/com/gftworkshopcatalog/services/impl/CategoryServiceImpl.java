@@ -1,13 +1,18 @@
 package com.gftworkshopcatalog.services.impl;
 
+import com.gftworkshopcatalog.api.dto.ProductSuggestionDTO;
+import com.gftworkshopcatalog.cache.ActivePromotionIndex;
+import com.gftworkshopcatalog.cache.ProductNameIndex;
 import com.gftworkshopcatalog.exceptions.*;
 import com.gftworkshopcatalog.model.CategoryEntity;
 import com.gftworkshopcatalog.model.ProductEntity;
 import com.gftworkshopcatalog.repositories.CategoryRepository;
+import com.gftworkshopcatalog.repositories.CollectionVersion;
 import com.gftworkshopcatalog.repositories.ProductRepository;
 import com.gftworkshopcatalog.repositories.PromotionRepository;
 import com.gftworkshopcatalog.services.CategoryService;
 import com.gftworkshopcatalog.utils.CategoryValidationUtils;
+import io.micrometer.core.annotation.Timed;
 import lombok.extern.slf4j.Slf4j;
 
 import org.springframework.stereotype.Service;
@@ -15,28 +20,42 @@ import org.springframework.stereotype.Service;
 
 import java.util.*;
 
+import static com.gftworkshopcatalog.operations.ProductOperations.SEASONAL_PROMOTION;
+import static com.gftworkshopcatalog.operations.ProductOperations.withEffectivePrice;
+
 @Slf4j
 @Service
+@Timed(value = "catalog.service", histogram = true, percentiles = {0.5, 0.95, 0.99})
 public class CategoryServiceImpl implements CategoryService {
 
     private final CategoryRepository categoryRepository;
     private final ProductRepository productRepository;
     private final CategoryValidationUtils categoryValidationUtils;
+    private final ActivePromotionIndex activePromotionIndex;
+    private final ProductNameIndex productNameIndex;
 
     private static final String CATEGORY_NOT_FOUND_MSG = "Category not found with ID: ";
     private static final String CATEGORY_DETAILS_INVALID_MSG = "Category details must not contain null or negative values";
     private static final String PRODUCTS_NOT_FOUND_MSG = "Products not found with ID: {} and NAME: {}";
+    private static final int MAX_SUGGESTIONS = 50;
 
-    public CategoryServiceImpl(CategoryRepository categoryRepository, ProductRepository productRepository, PromotionRepository promotionRepository) {
+    public CategoryServiceImpl(CategoryRepository categoryRepository, ProductRepository productRepository, PromotionRepository promotionRepository,
+                               ActivePromotionIndex activePromotionIndex, ProductNameIndex productNameIndex) {
         this.categoryRepository = categoryRepository;
         this.productRepository = productRepository;
         this.categoryValidationUtils = new CategoryValidationUtils(productRepository, promotionRepository);
+        this.activePromotionIndex = activePromotionIndex;
+        this.productNameIndex = productNameIndex;
     }
 
     public List<CategoryEntity> getAllCategories() {
         return categoryRepository.findAll();
     }
 
+    public CollectionVersion getCategoriesVersion() {
+        return categoryRepository.findCollectionVersion();
+    }
+
     public CategoryEntity findCategoryById(long categoryId) {
         return categoryRepository.findById(categoryId).orElseThrow(() -> {
             log.error(CATEGORY_NOT_FOUND_MSG + "{}", categoryId);
@@ -50,7 +69,7 @@ public class CategoryServiceImpl implements CategoryService {
             log.error(CATEGORY_NOT_FOUND_MSG + "{}", categoryId);
             throw new NotFoundCategory(CATEGORY_NOT_FOUND_MSG + categoryId);
         }
-        return new ArrayList<>(products);
+        return withEffectivePrices(products);
     }
 
     public CategoryEntity addCategory(CategoryEntity categoryEntity) {
@@ -74,11 +93,32 @@ public class CategoryServiceImpl implements CategoryService {
             log.error(PRODUCTS_NOT_FOUND_MSG, categoryId, namePrefix);
             throw new NotFoundCategory(CATEGORY_NOT_FOUND_MSG + categoryId + " and NAME: " + namePrefix);
         }
-        return new ArrayList<>(products);
+        return withEffectivePrices(products);
+    }
+
+    public List<ProductSuggestionDTO> suggestProductNames(Long categoryId, String prefix, int limit) {
+        if (prefix == null || prefix.isBlank()) {
+            throw new BadRequest("Prefix must not be empty");
+        }
+        if (limit < 1 || limit > MAX_SUGGESTIONS) {
+            throw new BadRequest("Limit must be between 1 and " + MAX_SUGGESTIONS);
+        }
+        return productNameIndex.findByPrefix(categoryId, prefix, limit);
+    }
+
+    private List<ProductEntity> withEffectivePrices(List<ProductEntity> products) {
+        List<ProductEntity> pricedProducts = new ArrayList<>(products.size());
+        for (ProductEntity product : products) {
+            pricedProducts.add(withEffectivePrice(product,
+                    activePromotionIndex.findActivePromotionByCategoryIdAndType(product.getCategoryId(), SEASONAL_PROMOTION)));
+        }
+        return pricedProducts;
     }
 
     public String formatName(String name) {
-        String lowerCaseName = name.toLowerCase();
-        return lowerCaseName.substring(0, 1).toUpperCase() + lowerCaseName.substring(1) + "%";
+        String normalizedName = name.toLowerCase(Locale.ROOT);
+        return normalizedName.replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_") + "%";
     }
 }
@@ -0,0 +1,179 @@
+package com.gftworkshopcatalog.services.impl;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.gftworkshopcatalog.api.dto.ProductImportErrorDTO;
+import com.gftworkshopcatalog.api.dto.ProductImportResultDTO;
+import com.gftworkshopcatalog.cache.ProductNameIndex;
+import com.gftworkshopcatalog.exceptions.AddProductInvalidArgumentsExceptions;
+import com.gftworkshopcatalog.exceptions.BadRequest;
+import com.gftworkshopcatalog.model.CategoryEntity;
+import com.gftworkshopcatalog.model.ProductEntity;
+import com.gftworkshopcatalog.repositories.CategoryRepository;
+import com.gftworkshopcatalog.repositories.ProductRepository;
+import com.gftworkshopcatalog.search.ProductSearchIndex;
+import com.gftworkshopcatalog.services.ProductImportService;
+import io.micrometer.core.annotation.Timed;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static com.gftworkshopcatalog.utils.ProductValidationUtils.validateProductEntity;
+
+/**
+ * Imports products from a CSV (with header) or NDJSON stream. Rows are parsed one at a time, validated and written
+ * in batches of catalog.products.import.batch-size; a batch the database rejects is retried row by row so a bad row
+ * only fails itself. Invalid rows are reported with their 1-based position and never abort the load.
+ */
+@Slf4j
+@Service
+@Timed(value = "catalog.service", histogram = true, percentiles = {0.5, 0.95, 0.99})
+public class ProductImportServiceImpl implements ProductImportService {
+
+    private static final int MAX_REPORTED_ERRORS = 1000;
+
+    private final ProductRepository productRepository;
+    private final CategoryRepository categoryRepository;
+    private final ProductNameIndex productNameIndex;
+    private final ProductSearchIndex productSearchIndex;
+    private final ObjectReader csvReader;
+    private final ObjectReader ndjsonReader;
+    private final int batchSize;
+
+    public ProductImportServiceImpl(ProductRepository productRepository, CategoryRepository categoryRepository,
+                                    ProductNameIndex productNameIndex, ProductSearchIndex productSearchIndex,
+                                    ObjectMapper objectMapper,
+                                    @Value("${catalog.products.import.batch-size:50}") int batchSize) {
+        this.productRepository = productRepository;
+        this.categoryRepository = categoryRepository;
+        this.productNameIndex = productNameIndex;
+        this.productSearchIndex = productSearchIndex;
+        this.csvReader = CsvMapper.builder()
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .build()
+                .readerFor(ProductEntity.class)
+                .with(CsvSchema.emptySchema().withHeader());
+        this.ndjsonReader = objectMapper.readerFor(ProductEntity.class);
+        this.batchSize = batchSize;
+    }
+
+    public ProductImportResultDTO importProducts(InputStream input, Format format) {
+        log.info("Importing products from {}", format);
+        Set<Long> categoryIds = categoryRepository.findAll().stream()
+                .map(CategoryEntity::getCategoryId)
+                .collect(Collectors.toSet());
+        ImportProgress progress = new ImportProgress();
+        List<ImportRow> batch = new ArrayList<>(batchSize);
+        try (MappingIterator<ProductEntity> rows = (format == Format.CSV ? csvReader : ndjsonReader).readValues(input)) {
+            long rowNumber = 0;
+            while (rows.hasNextValue()) {
+                rowNumber++;
+                ProductEntity product = readRow(rows, rowNumber, progress);
+                if (product != null && isValid(product, categoryIds, rowNumber, progress)) {
+                    product.setId(null);
+                    batch.add(new ImportRow(rowNumber, product));
+                    if (batch.size() == batchSize) {
+                        writeBatch(batch, progress);
+                        batch.clear();
+                    }
+                }
+            }
+        } catch (JsonParseException e) {
+            log.error("Product import stopped, unreadable input: {}", e.getOriginalMessage());
+            progress.fail(e.getLocation().getLineNr(), "Unreadable input, import stopped: " + e.getOriginalMessage());
+        } catch (IOException e) {
+            log.error("Product import stopped, input could not be read", e);
+            throw new BadRequest("Product import input could not be read: " + e.getMessage());
+        }
+        writeBatch(batch, progress);
+        progress.errors.sort(Comparator.comparingLong(ProductImportErrorDTO::getRow));
+        log.info("Imported {} products, {} rows failed", progress.imported, progress.failed);
+        return new ProductImportResultDTO(progress.imported, progress.failed, progress.errors);
+    }
+
+    private ProductEntity readRow(MappingIterator<ProductEntity> rows, long rowNumber, ImportProgress progress) throws IOException {
+        try {
+            return rows.nextValue();
+        } catch (JsonParseException e) {
+            throw e;
+        } catch (IOException | RuntimeException e) {
+            progress.fail(rowNumber, "Unreadable row: " + e.getMessage().lines().findFirst().orElse(""));
+            return null;
+        }
+    }
+
+    private boolean isValid(ProductEntity product, Set<Long> categoryIds, long rowNumber, ImportProgress progress) {
+        try {
+            validateProductEntity(product);
+        } catch (AddProductInvalidArgumentsExceptions e) {
+            progress.fail(rowNumber, e.getMessage());
+            return false;
+        }
+        if (!categoryIds.contains(product.getCategoryId())) {
+            progress.fail(rowNumber, "Category not found with ID: " + product.getCategoryId());
+            return false;
+        }
+        return true;
+    }
+
+    private void writeBatch(List<ImportRow> batch, ImportProgress progress) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            productRepository.insertAll(batch.stream().map(ImportRow::product).toList());
+            batch.forEach(row -> imported(row.product(), progress));
+        } catch (DataAccessException | TransactionException e) {
+            log.warn("Batch of {} products rejected, retrying row by row: {}", batch.size(), e.getMessage());
+            batch.forEach(row -> writeRow(row, progress));
+        }
+    }
+
+    private void writeRow(ImportRow row, ImportProgress progress) {
+        row.product().setId(null);
+        try {
+            productRepository.insertAll(List.of(row.product()));
+            imported(row.product(), progress);
+        } catch (DataAccessException | TransactionException e) {
+            progress.fail(row.number(), "Rejected by the database: " + e.getMostSpecificCause().getMessage());
+        }
+    }
+
+    private void imported(ProductEntity product, ImportProgress progress) {
+        productNameIndex.put(product);
+        productSearchIndex.put(product);
+        progress.imported++;
+    }
+
+    private record ImportRow(long number, ProductEntity product) {
+    }
+
+    private static class ImportProgress {
+
+        private long imported;
+        private long failed;
+        private final List<ProductImportErrorDTO> errors = new ArrayList<>();
+
+        void fail(long rowNumber, String message) {
+            failed++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new ProductImportErrorDTO(rowNumber, message));
+            }
+        }
+    }
+}
@@ -1,45 +1,158 @@
 package com.gftworkshopcatalog.services.impl;
 
 import com.gftworkshopcatalog.api.dto.CartProductDTO;
+import com.gftworkshopcatalog.api.dto.ProductPageDTO;
+import com.gftworkshopcatalog.api.dto.ProductSearchHitDTO;
+import com.gftworkshopcatalog.api.dto.ProductSearchPageDTO;
+import com.gftworkshopcatalog.api.dto.StockReservationDTO;
+import com.gftworkshopcatalog.api.dto.StockReservationResultDTO;
+import com.gftworkshopcatalog.cache.ActivePromotionIndex;
+import com.gftworkshopcatalog.cache.ProductBatchLoader;
+import com.gftworkshopcatalog.cache.ProductCache;
+import com.gftworkshopcatalog.cache.ProductNameIndex;
 import com.gftworkshopcatalog.exceptions.AddProductInvalidArgumentsExceptions;
 import com.gftworkshopcatalog.exceptions.BadRequest;
+import com.gftworkshopcatalog.exceptions.ConflictProduct;
 import com.gftworkshopcatalog.exceptions.NotFoundProduct;
 import com.gftworkshopcatalog.model.ProductEntity;
 import com.gftworkshopcatalog.model.PromotionEntity;
+import com.gftworkshopcatalog.operations.CartLines;
+import com.gftworkshopcatalog.operations.CategoryDiscounts;
 import com.gftworkshopcatalog.repositories.ProductRepository;
-import com.gftworkshopcatalog.repositories.PromotionRepository;
+import com.gftworkshopcatalog.search.ProductSearchIndex;
 import com.gftworkshopcatalog.services.ProductService;
+import io.micrometer.core.annotation.Timed;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static com.gftworkshopcatalog.operations.ProductOperations.*;
 import static com.gftworkshopcatalog.utils.ProductValidationUtils.validateProductEntity;
 
 @Slf4j
 @Service
+@Timed(value = "catalog.service", histogram = true, percentiles = {0.5, 0.95, 0.99})
 public class ProductServiceImpl implements ProductService {
 
-    private final PromotionRepository promotionRepository;
+    private final ActivePromotionIndex activePromotionIndex;
     private final ProductRepository productRepository;
+    private final ProductCache productCache;
+    private final ProductNameIndex productNameIndex;
+    private final ProductSearchIndex productSearchIndex;
+    private final ProductBatchLoader productBatchLoader;
     private static final String PRODUCT_NOT_FOUND_LOG = "Product not found with ID: {}";
     private static final String PRODUCT_NOT_FOUND_ERROR = "\"Product not found with ID: \"";
-
-    public ProductServiceImpl(PromotionRepository promotionRepository, ProductRepository productRepository) {
-        this.promotionRepository = promotionRepository;
+    private static final int MAX_PAGE_SIZE = 1000;
+    private static final int MAX_SEARCH_PAGE_SIZE = 100;
+    private static final int MAX_WRITE_ATTEMPTS = 5;
+
+    public ProductServiceImpl(ActivePromotionIndex activePromotionIndex, ProductRepository productRepository,
+                              ProductCache productCache, ProductNameIndex productNameIndex, ProductSearchIndex productSearchIndex,
+                              ProductBatchLoader productBatchLoader) {
+        this.activePromotionIndex = activePromotionIndex;
         this.productRepository = productRepository;
+        this.productCache = productCache;
+        this.productNameIndex = productNameIndex;
+        this.productSearchIndex = productSearchIndex;
+        this.productBatchLoader = productBatchLoader;
     }
 
 
     public List<ProductEntity> findAllProducts() {
         log.info("Retrieving all products");
-        return productRepository.findAll();
+        return applyEffectivePrices(productRepository.findAll());
+    }
+
+    public ProductPageDTO findProductsPage(Long after, int size) {
+        log.info("Retrieving page of {} products after ID: {}", size, after);
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            log.error("Failed to retrieve products page: Invalid page size {}", size);
+            throw new BadRequest("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        List<ProductEntity> products = productRepository.findByIdGreaterThanOrderByIdAsc(after == null ? 0L : after, Limit.of(size + 1));
+        if (products.size() <= size) {
+            return new ProductPageDTO(applyEffectivePrices(products), null);
+        }
+        List<ProductEntity> page = products.subList(0, size);
+        return new ProductPageDTO(applyEffectivePrices(page), page.get(size - 1).getId());
+    }
+
+    public ProductSearchPageDTO searchProducts(String query, Long categoryId, Double minPrice, Double maxPrice, int page, int size) {
+        log.info("Searching products matching: {}", query);
+        validateSearch(query, minPrice, maxPrice, page, size);
+        ProductSearchIndex.Result result = productSearchIndex.search(query, categoryId, minPrice, maxPrice, page * size, size);
+        Map<Long, ProductEntity> productsById = loadProductsById(result.hits().stream()
+                .map(ProductSearchIndex.Hit::productId)
+                .toList());
+        List<ProductSearchHitDTO> items = new ArrayList<>(result.hits().size());
+        for (ProductSearchIndex.Hit hit : result.hits()) {
+            ProductEntity product = productsById.get(hit.productId());
+            if (product != null) {
+                items.add(new ProductSearchHitDTO(applyEffectivePrice(product), hit.score()));
+            }
+        }
+        return new ProductSearchPageDTO(items, result.total(), page, size);
+    }
+
+    private void validateSearch(String query, Double minPrice, Double maxPrice, int page, int size) {
+        if (query == null || query.isBlank()) {
+            log.error("Failed to search products: Empty query");
+            throw new BadRequest("Search query must not be empty");
+        }
+        if (page < 0 || size < 1 || size > MAX_SEARCH_PAGE_SIZE) {
+            log.error("Failed to search products: Invalid page {} of size {}", page, size);
+            throw new BadRequest("Page must not be negative and size must be between 1 and " + MAX_SEARCH_PAGE_SIZE);
+        }
+        if (minPrice != null && maxPrice != null && minPrice > maxPrice) {
+            log.error("Failed to search products: Price range {} - {}", minPrice, maxPrice);
+            throw new BadRequest("Minimum price must not be greater than maximum price");
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public void streamAllProducts(Consumer<ProductEntity> consumer) {
+        log.info("Streaming all products");
+        try (Stream<ProductEntity> products = productRepository.streamAllOrderedById()) {
+            products.map(this::applyEffectivePrice).forEach(consumer);
+        }
     }
 
     public ProductEntity findProductById(long productId) {
         log.info("Retrieving product by its ID");
+        return applyEffectivePrice(productCache.get(productId, this::loadProduct));
+    }
+
+    private ProductEntity applyEffectivePrice(ProductEntity product) {
+        return withEffectivePrice(product, findActiveSeasonalPromotion(product));
+    }
+
+    private List<ProductEntity> applyEffectivePrices(List<ProductEntity> products) {
+        List<ProductEntity> pricedProducts = new ArrayList<>(products.size());
+        for (ProductEntity product : products) {
+            pricedProducts.add(applyEffectivePrice(product));
+        }
+        return pricedProducts;
+    }
+
+    private PromotionEntity findActiveSeasonalPromotion(ProductEntity product) {
+        return activePromotionIndex.findActivePromotionByCategoryIdAndType(product.getCategoryId(), SEASONAL_PROMOTION);
+    }
+
+    private ProductEntity loadProduct(long productId) {
         return productRepository.findById(productId).orElseThrow(() -> {
             log.error(PRODUCT_NOT_FOUND_LOG, productId);
             return new NotFoundProduct(PRODUCT_NOT_FOUND_ERROR + productId);
@@ -50,22 +163,46 @@ public class ProductServiceImpl implements ProductService {
     public ProductEntity addProduct(ProductEntity productEntity) {
         log.info("Adding new product: {}", productEntity);
         validateProductEntity(productEntity);
-        return productRepository.save(productEntity);
+        // IDs are generated; merging a client-supplied one would overwrite an existing, possibly cached, product
+        productEntity.setId(null);
+        ProductEntity savedProduct = productRepository.save(productEntity);
+        productNameIndex.put(savedProduct);
+        productSearchIndex.put(savedProduct);
+        return applyEffectivePrice(savedProduct);
     }
 
 
+    /**
+     * Updates the product for internal callers, reapplying the change on a fresh copy when a concurrent write wins.
+     */
     public ProductEntity updateProduct(Long productId, ProductEntity productEntityDetails) {
+        validateProductDetails(productId, productEntityDetails);
+        return productUpdated(productId, saveRetryingOnConflict(productId, product -> updateProductEntity(product, productEntityDetails)));
+    }
+
+    /**
+     * Updates the product for API callers, failing with {@link ConflictProduct} when the stored version is not the
+     * expected one or a concurrent write wins; a null expected version only guards against the latter.
+     */
+    public ProductEntity updateProduct(Long productId, ProductEntity productEntityDetails, Long expectedVersion) {
+        validateProductDetails(productId, productEntityDetails);
+        return productUpdated(productId, saveVersioned(productId, expectedVersion, product -> updateProductEntity(product, productEntityDetails)));
+    }
+
+    private void validateProductDetails(Long productId, ProductEntity productEntityDetails) {
         log.info("Updating product ID: {}", productId);
         if (productEntityDetails == null) {
             log.error("Failed to update product: Product details must not be null");
             throw new AddProductInvalidArgumentsExceptions("Product details must not be null.");
         }
-
         validateProductEntity(productEntityDetails);
+    }
 
-        ProductEntity productEntity = findProductById(productId);
-        updateProductEntity(productEntity, productEntityDetails);
-        return productRepository.save(productEntity);
+    private ProductEntity productUpdated(Long productId, ProductEntity savedProduct) {
+        productCache.evict(productId);
+        productNameIndex.put(savedProduct);
+        productSearchIndex.put(savedProduct);
+        return applyEffectivePrice(savedProduct);
     }
 
     private void updateProductEntity(ProductEntity existingProduct, ProductEntity newDetails) {
@@ -81,88 +218,239 @@ public class ProductServiceImpl implements ProductService {
 
     public void deleteProduct(long productId) {
         log.info("Deleting product ID: {}", productId);
-        ProductEntity productEntity = findProductById(productId);
+        ProductEntity productEntity = loadProduct(productId);
         productRepository.delete(productEntity);
+        productCache.evict(productId);
+        productNameIndex.remove(productId);
+        productSearchIndex.remove(productId);
         log.info("Deleted product ID: {}", productId);
     }
 
     public ProductEntity updateProductPrice(long productId, double newPrice) {
+        validateNewPrice(productId, newPrice);
+        return priceUpdated(productId, saveRetryingOnConflict(productId, product -> product.setPrice(newPrice)));
+    }
+
+    public ProductEntity updateProductPrice(long productId, double newPrice, Long expectedVersion) {
+        validateNewPrice(productId, newPrice);
+        return priceUpdated(productId, saveVersioned(productId, expectedVersion, product -> product.setPrice(newPrice)));
+    }
+
+    private void validateNewPrice(long productId, double newPrice) {
         log.info("Updating price for product ID: {}", productId);
         if (newPrice < 0) {
             log.info("Failed to update price: Price cannot be negative");
             throw new AddProductInvalidArgumentsExceptions("Price cannot be negative");
         }
+    }
 
-        ProductEntity product = findProductById(productId);
-        product.setPrice(newPrice);
-        return productRepository.save(product);
+    private ProductEntity priceUpdated(long productId, ProductEntity savedProduct) {
+        productCache.evict(productId);
+        productSearchIndex.put(savedProduct);
+        return applyEffectivePrice(savedProduct);
     }
 
+    private ProductEntity saveRetryingOnConflict(long productId, Consumer<ProductEntity> change) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return saveVersioned(productId, null, change);
+            } catch (ConflictProduct e) {
+                if (attempt == MAX_WRITE_ATTEMPTS) {
+                    log.error("Failed to update product ID: {} after {} conflicting attempts", productId, attempt);
+                    throw e;
+                }
+                log.warn("Concurrent update of product ID: {}, retrying at version {}", productId, e.getCurrentVersion());
+            }
+        }
+    }
+
+    /**
+     * Applies the change to the stored product and saves it; the save fails if the row version moved since the load.
+     */
+    private ProductEntity saveVersioned(long productId, Long expectedVersion, Consumer<ProductEntity> change) {
+        ProductEntity product = loadProduct(productId);
+        if (expectedVersion != null && product.getVersion() != expectedVersion) {
+            throw versionConflict(productId, product.getVersion());
+        }
+        change.accept(product);
+        try {
+            return productRepository.save(product);
+        } catch (OptimisticLockingFailureException e) {
+            throw versionConflict(productId, loadProduct(productId).getVersion());
+        }
+    }
+
+    private static ConflictProduct versionConflict(long productId, long currentVersion) {
+        log.warn("Version conflict on product ID: {}, current version is {}", productId, currentVersion);
+        return new ConflictProduct("Product " + productId + " was modified concurrently, current version is " + currentVersion,
+                currentVersion);
+    }
+
+    @Transactional
     public ProductEntity updateProductStock(long productId, int quantity) {
         log.info("Updating stock for product ID: {}", productId);
-        ProductEntity product = productRepository.findById(productId)
-                .orElseThrow(() -> new NotFoundProduct(PRODUCT_NOT_FOUND_ERROR + productId));
-        int newStock = product.getCurrentStock() + quantity;
-        if (newStock < 0) {
+        if (productRepository.adjustStock(productId, quantity) == 0) {
+            if (!productRepository.existsById(productId)) {
+                log.error(PRODUCT_NOT_FOUND_LOG, productId);
+                throw new NotFoundProduct(PRODUCT_NOT_FOUND_ERROR + productId);
+            }
             log.error("Insufficient stock to decrement for product ID: {}", productId);
             throw new BadRequest("Insufficient stock to decrement by " + quantity);
         }
-        product.setCurrentStock(newStock);
-        return productRepository.save(product);
+        productCache.evict(productId);
+        return applyEffectivePrice(loadProduct(productId));
+    }
+
+
+    @Transactional
+    public List<StockReservationResultDTO> reserveStock(List<StockReservationDTO> reservations) {
+        log.info("Reserving stock for {} products", reservations == null ? 0 : reservations.size());
+        validateStockReservations(reservations);
+        List<StockReservationDTO> orderedReservations = reservations.stream()
+                .sorted(Comparator.comparing(StockReservationDTO::getProductId))
+                .toList();
+
+        int[] updatedRows = productRepository.adjustStockInBatch(orderedReservations);
+        Set<Long> productIds = orderedReservations.stream()
+                .map(StockReservationDTO::getProductId)
+                .collect(Collectors.toSet());
+        productCache.evictAll(productIds);
+        Set<Long> rejectedProductIds = new TreeSet<>();
+        for (int i = 0; i < updatedRows.length; i++) {
+            if (updatedRows[i] == 0) {
+                rejectedProductIds.add(orderedReservations.get(i).getProductId());
+            }
+        }
+
+        Map<Long, Integer> currentStocks = productRepository.findCurrentStocks(productIds);
+        if (!rejectedProductIds.isEmpty()) {
+            rejectStockReservation(rejectedProductIds, currentStocks);
+        }
+
+        return reservations.stream()
+                .map(reservation -> StockReservationResultDTO.builder()
+                        .productId(reservation.getProductId())
+                        .quantity(reservation.getQuantity())
+                        .currentStock(currentStocks.get(reservation.getProductId()))
+                        .build())
+                .toList();
+    }
+
+    private void validateStockReservations(List<StockReservationDTO> reservations) {
+        if (reservations == null || reservations.isEmpty() || reservations.stream()
+                .anyMatch(reservation -> reservation == null || reservation.getProductId() == null || reservation.getQuantity() == null)) {
+            log.error("Failed to reserve stock: Reservations must not be empty or contain null values");
+            throw new BadRequest("Stock reservations must not be empty or contain null values");
+        }
+    }
+
+    private void rejectStockReservation(Set<Long> rejectedProductIds, Map<Long, Integer> currentStocks) {
+        List<Long> missingProductIds = rejectedProductIds.stream()
+                .filter(productId -> !currentStocks.containsKey(productId))
+                .toList();
+        if (!missingProductIds.isEmpty()) {
+            log.error("Stock reservation rolled back, products not found: {}", missingProductIds);
+            throw new NotFoundProduct("Products not found with IDs: " + missingProductIds);
+        }
+        log.error("Stock reservation rolled back, insufficient stock for products: {}", rejectedProductIds);
+        throw new BadRequest("Insufficient stock for product IDs: " + rejectedProductIds);
     }
 
 
     public List<ProductEntity> findProductsByIds(List<Long> ids) {
         log.info("Finding products by IDs");
-        List<ProductEntity> products = new ArrayList<>(productRepository.findAllById(ids));
-        if (products.size() != ids.size()) {
-            log.warn("Mismatch in found products by IDs");
-            throw new NotFoundProduct("One or more product IDs not found");
+        Map<Long, ProductEntity> productsById = productCache.getAll(ids,
+                missingIds -> productBatchLoader.loadAll(missingIds).values());
+        List<ProductEntity> products = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            ProductEntity product = productsById.get(id);
+            if (product == null) {
+                log.warn("Mismatch in found products by IDs");
+                throw new NotFoundProduct("One or more product IDs not found");
+            }
+            products.add(product);
         }
-        return products;
+        return applyEffectivePrices(products);
     }
 
 
     public double calculateDiscountedPrice(Long id, int quantity) {
         log.info("Calculating discounted price for product ID: {}", id);
-        ProductEntity product = productRepository.findById(id)
-                .orElseThrow(() -> new NotFoundProduct(PRODUCT_NOT_FOUND_ERROR + id));
+        ProductEntity product = findProductById(id);
 
-        PromotionEntity promotion = promotionRepository.findActivePromotionByCategoryId(product.getCategoryId());
+        PromotionEntity promotion = activePromotionIndex.findActivePromotionByCategoryIdAndType(product.getCategoryId(), VOLUME_PROMOTION);
 
-        if (promotion != null && promotion.getIsActive() && "VOLUME".equalsIgnoreCase(promotion.getPromotionType())) {
-            return calculateNewPrice(product.getPrice(), promotion, quantity);
+        if (promotion != null && promotion.getIsActive()) {
+            return calculateNewPrice(product.getEffectivePrice(), promotion, quantity);
         }
 
-        return product.getPrice();
+        return product.getEffectivePrice();
     }
 
 
     public List<ProductEntity> calculateListDiscountedPrice(List<CartProductDTO> cartProducts) {
         log.info("Calculating discounted prices for list of cart products");
-        List<ProductEntity> discountedProducts = new ArrayList<>();
-
-        for (CartProductDTO cartProduct : cartProducts) {
-            ProductEntity product = findProductById(cartProduct.getProductId());
-            PromotionEntity promotion = findActivePromotionByCategoryId(product.getCategoryId());
-            double discountedPricePerUnit = calculateDiscountedPricePerUnit(product, promotion, cartProduct.getQuantity());
+        if (cartProducts.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<Long, ProductEntity> productsById = findCartProducts(cartProducts);
+        ProductEntity[] products = new ProductEntity[cartProducts.size()];
+        CartLines lines = new CartLines(cartProducts.size());
+        Map<Long, Integer> categorySlots = new HashMap<>();
+        for (int line = 0; line < products.length; line++) {
+            CartProductDTO cartProduct = cartProducts.get(line);
+            ProductEntity product = productsById.get(cartProduct.getProductId());
+            int categorySlot = categorySlots.computeIfAbsent(product.getCategoryId(), categoryId -> categorySlots.size());
+            products[line] = product;
+            lines.set(line, product.getPrice(), product.getWeight(), cartProduct.getQuantity(), categorySlot);
+        }
+        priceCartLines(lines, findCategoryDiscounts(categorySlots));
 
-            ProductEntity discountedProduct = createDiscountedProductEntity(product, discountedPricePerUnit, cartProduct.getQuantity());
-            discountedProducts.add(discountedProduct);
+        List<ProductEntity> discountedProducts = new ArrayList<>(products.length);
+        for (int line = 0; line < products.length; line++) {
+            discountedProducts.add(createDiscountedProductEntity(products[line], lines.totalPrice(line), lines.totalWeight(line)));
         }
         return discountedProducts;
     }
 
-    private ProductEntity createDiscountedProductEntity(ProductEntity product, double discountedPricePerUnit, int quantity) {
-        log.debug("Creating discounted product entity for product ID: {}", product.getId());
-        double totalPrice = discountedPricePerUnit * quantity;
-        double totalWeight = product.getWeight() * quantity;
+    /**
+     * Looks up the promotions once per category of the cart rather than once per line.
+     */
+    private CategoryDiscounts findCategoryDiscounts(Map<Long, Integer> categorySlots) {
+        CategoryDiscounts discounts = new CategoryDiscounts(categorySlots.size());
+        categorySlots.forEach((categoryId, categorySlot) -> {
+            discounts.setSeasonalPromotion(categorySlot,
+                    activePromotionIndex.findActivePromotionByCategoryIdAndType(categoryId, SEASONAL_PROMOTION));
+            discounts.setVolumePromotion(categorySlot,
+                    activePromotionIndex.findActivePromotionByCategoryIdAndType(categoryId, VOLUME_PROMOTION));
+        });
+        return discounts;
+    }
+
+    private Map<Long, ProductEntity> findCartProducts(List<CartProductDTO> cartProducts) {
+        Map<Long, ProductEntity> productsById = loadProductsById(cartProducts.stream()
+                .map(CartProductDTO::getProductId)
+                .collect(Collectors.toSet()));
+        for (CartProductDTO cartProduct : cartProducts) {
+            if (!productsById.containsKey(cartProduct.getProductId())) {
+                log.error(PRODUCT_NOT_FOUND_LOG, cartProduct.getProductId());
+                throw new NotFoundProduct(PRODUCT_NOT_FOUND_ERROR + cartProduct.getProductId());
+            }
+        }
+        return productsById;
+    }
+
+    private Map<Long, ProductEntity> loadProductsById(Collection<Long> productIds) {
+        return productCache.getAll(productIds, productRepository::findAllById);
+    }
 
+    private ProductEntity createDiscountedProductEntity(ProductEntity product, double totalPrice, double totalWeight) {
         ProductEntity discountedProduct = new ProductEntity();
         discountedProduct.setId(product.getId());
         discountedProduct.setName(product.getName());
         discountedProduct.setDescription(product.getDescription());
         discountedProduct.setPrice(totalPrice);
+        discountedProduct.setEffectivePrice(discountedProduct.getPrice());
         discountedProduct.setCategoryId(product.getCategoryId());
         discountedProduct.setWeight(totalWeight);
         discountedProduct.setCurrentStock(product.getCurrentStock());
@@ -171,18 +459,5 @@ public class ProductServiceImpl implements ProductService {
         return discountedProduct;
     }
 
-    private double calculateDiscountedPricePerUnit(ProductEntity product, PromotionEntity promotion, int quantity) {
-        log.debug("Calculating discounted price per unit for product ID: {}", product.getId());
-        if (promotion != null && promotion.getIsActive() && "VOLUME".equalsIgnoreCase(promotion.getPromotionType())) {
-            return calculateNewPrice(product.getPrice(), promotion, quantity);
-        }
-        return product.getPrice();
-    }
-
-    public PromotionEntity findActivePromotionByCategoryId(Long categoryId) {
-        log.info("Finding active promotion by category ID: {}", categoryId);
-        return promotionRepository.findActivePromotionByCategoryId(categoryId);
-    }
-
 
 }
\ No newline at end of file
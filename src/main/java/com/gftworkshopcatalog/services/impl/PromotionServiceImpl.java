@@ -1,12 +1,14 @@
 package com.gftworkshopcatalog.services.impl;
 
+import com.gftworkshopcatalog.cache.ActivePromotionIndex;
 import com.gftworkshopcatalog.exceptions.AddProductInvalidArgumentsExceptions;
 import com.gftworkshopcatalog.exceptions.NotFoundPromotion;
 import com.gftworkshopcatalog.model.PromotionEntity;
-import com.gftworkshopcatalog.repositories.ProductRepository;
+import com.gftworkshopcatalog.repositories.CollectionVersion;
 import com.gftworkshopcatalog.repositories.PromotionRepository;
+import com.gftworkshopcatalog.scheduling.PromotionLifecycleScheduler;
 import com.gftworkshopcatalog.services.PromotionService;
-import jakarta.annotation.PostConstruct;
+import io.micrometer.core.annotation.Timed;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
@@ -16,26 +18,27 @@ import static com.gftworkshopcatalog.utils.PromotionValidationUtils.validateProm
 
 @Slf4j
 @Service
+@Timed(value = "catalog.service", histogram = true, percentiles = {0.5, 0.95, 0.99})
 public class PromotionServiceImpl implements PromotionService {
     private final PromotionRepository promotionRepository;
-    private final ProductRepository productRepository;
+    private final ActivePromotionIndex activePromotionIndex;
+    private final PromotionLifecycleScheduler promotionLifecycleScheduler;
     private static final String PROMOTION_NOT_FOUND = "Promotion not found with ID: ";
     private static final String PROMOTION_DETAILS_NULL = "Promotion details must not be null";
-    public PromotionServiceImpl(PromotionRepository promotionRepository, ProductRepository productRepository) {
+    public PromotionServiceImpl(PromotionRepository promotionRepository, ActivePromotionIndex activePromotionIndex,
+                                PromotionLifecycleScheduler promotionLifecycleScheduler) {
         this.promotionRepository = promotionRepository;
-        this.productRepository = productRepository;
-    }
-
-    @PostConstruct
-    public void init() {
-        StatusPromotionServiceImpl statusPromotionService = new StatusPromotionServiceImpl(productRepository ,promotionRepository);
-        statusPromotionService.getActivePromotions();
+        this.activePromotionIndex = activePromotionIndex;
+        this.promotionLifecycleScheduler = promotionLifecycleScheduler;
     }
 
     public List<PromotionEntity> findAllPromotions() {
         log.info("Retrieving all promotions.");
             return promotionRepository.findAll();
     }
+    public CollectionVersion findPromotionsVersion() {
+        return promotionRepository.findCollectionVersion();
+    }
     public PromotionEntity findPromotionById(long promotionId) {
         log.info("Searching for promotion by ID: {}", promotionId);
         return promotionRepository.findById(promotionId)
@@ -47,7 +50,12 @@ public class PromotionServiceImpl implements PromotionService {
             throw new IllegalArgumentException(PROMOTION_DETAILS_NULL);
         }
         validatePromotionEntity(promotionEntity);
-        return promotionRepository.save(promotionEntity);
+        // IDs are generated; merging a client-supplied one would overwrite, or conflict with, an existing promotion
+        promotionEntity.setPromotionId(null);
+        PromotionEntity savedPromotion = promotionRepository.save(promotionEntity);
+        activePromotionIndex.refresh();
+        promotionLifecycleScheduler.track(savedPromotion);
+        return savedPromotion;
     }
     public PromotionEntity updatePromotion(long promotionId, PromotionEntity promotionEntityDetails) {
         if (promotionEntityDetails == null) {
@@ -57,7 +65,10 @@ public class PromotionServiceImpl implements PromotionService {
         validatePromotionEntity(promotionEntityDetails);
         PromotionEntity existingPromotion = findPromotionById(promotionId);
         updatePromotionEntity(existingPromotion, promotionEntityDetails);
-        return promotionRepository.save(existingPromotion);
+        PromotionEntity savedPromotion = promotionRepository.save(existingPromotion);
+        activePromotionIndex.refresh();
+        promotionLifecycleScheduler.track(savedPromotion);
+        return savedPromotion;
     }
     private void updatePromotionEntity(PromotionEntity existingPromotion, PromotionEntity newDetails) {
         existingPromotion.setCategoryId(newDetails.getCategoryId());
@@ -71,6 +82,8 @@ public class PromotionServiceImpl implements PromotionService {
         PromotionEntity promotion = findPromotionById(promotionId);
         log.info("Deleting promotion with ID: {}", promotionId);
         promotionRepository.delete(promotion);
+        activePromotionIndex.refresh();
+        promotionLifecycleScheduler.untrack(promotionId);
     }
 }
 
@@ -0,0 +1,99 @@
+package com.gftworkshopcatalog.services.impl;
+
+import com.gftworkshopcatalog.cache.ActivePromotionIndex;
+import com.gftworkshopcatalog.exceptions.NotFoundCategory;
+import com.gftworkshopcatalog.exceptions.NotFoundProduct;
+import com.gftworkshopcatalog.model.ProductEntity;
+import com.gftworkshopcatalog.model.reactive.ProductRow;
+import com.gftworkshopcatalog.repositories.reactive.ReactiveCategoryRepository;
+import com.gftworkshopcatalog.repositories.reactive.ReactiveProductRepository;
+import com.gftworkshopcatalog.services.ReactiveCatalogService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.HashSet;
+import java.util.List;
+
+import static com.gftworkshopcatalog.operations.ProductOperations.SEASONAL_PROMOTION;
+import static com.gftworkshopcatalog.operations.ProductOperations.withEffectivePrice;
+
+/**
+ * Non-blocking variant of the catalog lookups over R2DBC. Effective prices come from a snapshot of the in-memory
+ * promotion index taken once per lookup, as in the servlet API. When the snapshot has expired, it is rebuilt over
+ * JDBC on the bounded elastic scheduler, so no event-loop thread waits on the database.
+ */
+@Slf4j
+@Service
+public class ReactiveCatalogServiceImpl implements ReactiveCatalogService {
+
+    private final ReactiveProductRepository productRepository;
+    private final ReactiveCategoryRepository categoryRepository;
+    private final ActivePromotionIndex activePromotionIndex;
+
+    public ReactiveCatalogServiceImpl(ReactiveProductRepository productRepository, ReactiveCategoryRepository categoryRepository,
+                                      ActivePromotionIndex activePromotionIndex) {
+        this.productRepository = productRepository;
+        this.categoryRepository = categoryRepository;
+        this.activePromotionIndex = activePromotionIndex;
+    }
+
+    public Mono<ProductEntity> findProductById(long productId) {
+        return activePromotions()
+                .flatMap(promotions -> productRepository.findById(productId).map(row -> toPricedProduct(row, promotions)))
+                .switchIfEmpty(Mono.error(() -> {
+                    log.error("Product not found with ID: {}", productId);
+                    return new NotFoundProduct("Product not found with ID: " + productId);
+                }));
+    }
+
+    public Flux<ProductEntity> findProductsByIds(List<Long> ids) {
+        int distinctIds = new HashSet<>(ids).size();
+        return activePromotions()
+                .flatMap(promotions -> productRepository.findAllById(ids).map(row -> toPricedProduct(row, promotions)).collectList())
+                .flatMapMany(products -> {
+                    if (products.size() != distinctIds) {
+                        log.warn("Mismatch in found products by IDs");
+                        return Flux.error(new NotFoundProduct("One or more product IDs not found"));
+                    }
+                    return Flux.fromIterable(products);
+                });
+    }
+
+    public Mono<Void> requireCategory(long categoryId) {
+        return categoryRepository.existsById(categoryId)
+                .flatMap(exists -> {
+                    if (!exists) {
+                        log.error("Category not found with ID: {}", categoryId);
+                        return Mono.error(new NotFoundCategory("Category not found with ID: " + categoryId));
+                    }
+                    return Mono.<Void>empty();
+                });
+    }
+
+    /**
+     * Streams the products of a category in ID order as rows arrive, so the subscriber's demand reaches the
+     * database cursor. An unknown category yields no products; check it first with {@link #requireCategory}.
+     */
+    public Flux<ProductEntity> findProductsByCategoryId(long categoryId) {
+        return activePromotions().flatMapMany(promotions ->
+                productRepository.findByCategoryIdOrderById(categoryId).map(row -> toPricedProduct(row, promotions)));
+    }
+
+    private Mono<ActivePromotionIndex.Snapshot> activePromotions() {
+        return Mono.defer(() -> {
+            ActivePromotionIndex.Snapshot promotions = activePromotionIndex.findValidSnapshot();
+            if (promotions != null) {
+                return Mono.just(promotions);
+            }
+            return Mono.fromCallable(activePromotionIndex::currentSnapshot).subscribeOn(Schedulers.boundedElastic());
+        });
+    }
+
+    private static ProductEntity toPricedProduct(ProductRow row, ActivePromotionIndex.Snapshot promotions) {
+        ProductEntity product = row.toEntity();
+        return withEffectivePrice(product, promotions.findActivePromotion(product.getCategoryId(), SEASONAL_PROMOTION));
+    }
+}
@@ -0,0 +1,156 @@
+package com.gftworkshopcatalog.startup;
+
+import com.gftworkshopcatalog.cache.ActivePromotionIndex;
+import com.gftworkshopcatalog.cache.ProductCache;
+import com.gftworkshopcatalog.cache.ProductNameIndex;
+import com.gftworkshopcatalog.repositories.ProductRepository;
+import com.gftworkshopcatalog.scheduling.PromotionLifecycleScheduler;
+import com.gftworkshopcatalog.search.ProductSearchIndex;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.LivenessState;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Prepares promotion state and caches once the application has started, off the boot thread. Each phase is
+ * recorded in the catalog.startup.phase timer; {@link WarmupHealthIndicator} keeps the instance out of the
+ * readiness group until every phase has finished. A failing phase is retried with exponential backoff; once its
+ * attempts are exhausted the application is marked as broken, so the liveness probe restarts it.
+ */
+@Slf4j
+@Component
+public class CatalogWarmup {
+
+    private static final String PHASE_TIMER = "catalog.startup.phase";
+
+    private final PromotionLifecycleScheduler promotionLifecycleScheduler;
+    private final ActivePromotionIndex activePromotionIndex;
+    private final ProductRepository productRepository;
+    private final ProductCache productCache;
+    private final ProductNameIndex productNameIndex;
+    private final ProductSearchIndex productSearchIndex;
+    private final MeterRegistry meterRegistry;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int cachedProducts;
+    private final int maxAttempts;
+    private final Duration retryBackoff;
+    private volatile String currentPhase = "pending";
+    private volatile Duration duration;
+    private volatile RuntimeException failure;
+
+    public CatalogWarmup(PromotionLifecycleScheduler promotionLifecycleScheduler, ActivePromotionIndex activePromotionIndex,
+                         ProductRepository productRepository, ProductCache productCache, ProductNameIndex productNameIndex,
+                         ProductSearchIndex productSearchIndex, MeterRegistry meterRegistry, ApplicationEventPublisher eventPublisher,
+                         @Value("${catalog.warmup.cached-products:1000}") int cachedProducts,
+                         @Value("${catalog.warmup.max-attempts:5}") int maxAttempts,
+                         @Value("${catalog.warmup.retry-backoff:1s}") Duration retryBackoff) {
+        this.promotionLifecycleScheduler = promotionLifecycleScheduler;
+        this.activePromotionIndex = activePromotionIndex;
+        this.productRepository = productRepository;
+        this.productCache = productCache;
+        this.productNameIndex = productNameIndex;
+        this.productSearchIndex = productSearchIndex;
+        this.meterRegistry = meterRegistry;
+        this.eventPublisher = eventPublisher;
+        this.cachedProducts = cachedProducts;
+        this.maxAttempts = maxAttempts;
+        this.retryBackoff = retryBackoff;
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        long startTime = System.nanoTime();
+        try {
+            runPhase("product-names", this::normalizeProductNames);
+            runPhase("promotion-lifecycle", promotionLifecycleScheduler::loadTransitions);
+            runPhase("promotion-index", activePromotionIndex::refresh);
+            runPhase("product-cache", this::preloadProducts);
+            runPhase("product-name-index", productNameIndex::rebuild);
+            runPhase("product-search-index", productSearchIndex::rebuild);
+        } catch (RuntimeException e) {
+            fail(e);
+            return;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            fail(new IllegalStateException("Warmup interrupted", e));
+            return;
+        }
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - startTime);
+        phaseTimer("total").record(elapsed);
+        currentPhase = "completed";
+        duration = elapsed;
+        log.info("Warmup completed in {} ms", elapsed.toMillis());
+    }
+
+    public boolean isCompleted() {
+        return duration != null;
+    }
+
+    public String getCurrentPhase() {
+        return currentPhase;
+    }
+
+    public Duration getDuration() {
+        return duration;
+    }
+
+    public RuntimeException getFailure() {
+        return failure;
+    }
+
+    private void runPhase(String phase, Runnable action) throws InterruptedException {
+        currentPhase = phase;
+        Duration backoff = retryBackoff;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                phaseTimer(phase).record(action);
+                return;
+            } catch (RuntimeException e) {
+                if (attempt >= maxAttempts) {
+                    throw e;
+                }
+                log.warn("Warmup phase {} failed on attempt {} of {}, retrying in {} ms", phase, attempt, maxAttempts,
+                        backoff.toMillis(), e);
+                Thread.sleep(backoff.toMillis());
+                backoff = backoff.multipliedBy(2);
+            }
+        }
+    }
+
+    private void fail(RuntimeException e) {
+        failure = e;
+        log.error("Warmup failed during phase {}, marking the application as broken", currentPhase, e);
+        AvailabilityChangeEvent.publish(eventPublisher, this, LivenessState.BROKEN);
+    }
+
+    private Timer phaseTimer(String phase) {
+        return Timer.builder(PHASE_TIMER)
+                .description("Duration of each asynchronous startup warmup phase")
+                .tag("phase", phase)
+                .register(meterRegistry);
+    }
+
+    private void normalizeProductNames() {
+        int normalizedProducts = productRepository.normalizeMissingNames();
+        if (normalizedProducts > 0) {
+            log.info("Normalized names of {} products for prefix search", normalizedProducts);
+        }
+    }
+
+    private void preloadProducts() {
+        if (cachedProducts > 0) {
+            productCache.preload(() -> productRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(cachedProducts)));
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.gftworkshopcatalog.startup;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import static com.gftworkshopcatalog.model.ProductEntity.ID_ALLOCATION_SIZE;
+import static com.gftworkshopcatalog.model.ProductEntity.ID_SEQUENCE;
+
+/**
+ * Moves product_id_seq past the highest existing product ID before the application takes writes. Catalogs created
+ * while product IDs were AUTO_INCREMENT can hold IDs above the sequence's initial value, which new products would
+ * otherwise collide with. The sequence is only ever moved forward, so running this again, or on several instances,
+ * is harmless.
+ * Hibernate's pooled optimizer hands out the block ending at the value it reads, so the sequence is placed one
+ * allocation above the highest ID. Checking a real sequence draws one value from it, which skips one block of IDs
+ * per start; where the database has no sequences, Hibernate keeps the value in a table and it is moved in place.
+ */
+@Slf4j
+@Component
+public class ProductIdSequenceMigration implements InitializingBean {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Dialect dialect;
+
+    public ProductIdSequenceMigration(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dialect = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getJdbcServices().getDialect();
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        migrate();
+    }
+
+    public void migrate() {
+        Long maxProductId = jdbcTemplate.queryForObject("SELECT MAX(product_id) FROM products", Long.class);
+        if (maxProductId == null) {
+            return;
+        }
+        long firstSafeValue = maxProductId + ID_ALLOCATION_SIZE;
+        if (dialect.getSequenceSupport().supportsSequences()) {
+            Long nextValue = jdbcTemplate.queryForObject(
+                    dialect.getSequenceSupport().getSequenceNextValString(ID_SEQUENCE), Long.class);
+            if (nextValue != null && nextValue < firstSafeValue) {
+                jdbcTemplate.execute("ALTER SEQUENCE " + ID_SEQUENCE + " RESTART WITH " + firstSafeValue);
+                log.info("Moved {} from {} to {} past the highest product ID", ID_SEQUENCE, nextValue, firstSafeValue);
+            }
+        } else {
+            int updated = jdbcTemplate.update("UPDATE " + ID_SEQUENCE + " SET next_val = ? WHERE next_val < ?",
+                    firstSafeValue, firstSafeValue);
+            if (updated > 0) {
+                log.info("Moved {} to {} past the highest product ID", ID_SEQUENCE, firstSafeValue);
+            }
+        }
+    }
+}
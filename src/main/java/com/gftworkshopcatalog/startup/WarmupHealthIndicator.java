@@ -0,0 +1,37 @@
+package com.gftworkshopcatalog.startup;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reports OUT_OF_SERVICE while {@link CatalogWarmup} is still running, so the readiness probe fails until the
+ * caches and promotion state are ready, and DOWN once a phase has failed all its attempts. Liveness does not
+ * include this indicator; {@link CatalogWarmup} reports that failure to it as a broken liveness state instead.
+ */
+@Component
+public class WarmupHealthIndicator implements HealthIndicator {
+
+    private final CatalogWarmup catalogWarmup;
+
+    public WarmupHealthIndicator(CatalogWarmup catalogWarmup) {
+        this.catalogWarmup = catalogWarmup;
+    }
+
+    @Override
+    public Health health() {
+        if (catalogWarmup.getFailure() != null) {
+            return Health.down(catalogWarmup.getFailure())
+                    .withDetail("phase", catalogWarmup.getCurrentPhase())
+                    .build();
+        }
+        if (!catalogWarmup.isCompleted()) {
+            return Health.outOfService()
+                    .withDetail("phase", catalogWarmup.getCurrentPhase())
+                    .build();
+        }
+        return Health.up()
+                .withDetail("durationMs", catalogWarmup.getDuration().toMillis())
+                .build();
+    }
+}
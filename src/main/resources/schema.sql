@@ -1,10 +1,11 @@
 CREATE TABLE categories (
     category_id BIGINT AUTO_INCREMENT PRIMARY KEY,
-    name VARCHAR(255) NOT NULL
+    name VARCHAR(255) NOT NULL,
+    version BIGINT DEFAULT 0 NOT NULL
 );
 
 CREATE TABLE products (
-    product_id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    product_id BIGINT PRIMARY KEY,
     name VARCHAR(255) NOT NULL,
     description VARCHAR(255),
     price DECIMAL(10, 2) NOT NULL,
@@ -12,9 +13,15 @@ CREATE TABLE products (
     weight DECIMAL(5, 2) NOT NULL,
     current_stock INT NOT NULL,
     min_stock INT NOT NULL,
+    name_normalized VARCHAR(255),
+    version BIGINT DEFAULT 0 NOT NULL,
     FOREIGN KEY (category_id) REFERENCES categories(category_id)
 );
 
+CREATE INDEX idx_products_category_name_normalized ON products (category_id, name_normalized);
+
+CREATE SEQUENCE product_id_seq START WITH 1001 INCREMENT BY 50;
+
 CREATE TABLE promotions (
     promotion_id BIGINT AUTO_INCREMENT PRIMARY KEY,
     category_id BIGINT NOT NULL,
@@ -24,5 +31,6 @@ CREATE TABLE promotions (
     start_date DATE NOT NULL,
     end_date DATE NOT NULL,
     is_active BOOLEAN NOT NULL,
+    version BIGINT DEFAULT 0 NOT NULL,
     FOREIGN KEY (category_id) REFERENCES categories(category_id)
 );
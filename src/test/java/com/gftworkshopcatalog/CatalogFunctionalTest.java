@@ -1,9 +1,17 @@
 package com.gftworkshopcatalog;
 
 
+import com.gftworkshopcatalog.api.dto.CartProductDTO;
+import com.gftworkshopcatalog.api.dto.ProductPageDTO;
+import com.gftworkshopcatalog.api.dto.StockReservationDTO;
 import com.gftworkshopcatalog.model.*;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.gftworkshopcatalog.model.ProductEntity;
@@ -14,11 +22,18 @@ import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
 import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.reactive.server.WebTestClient;
+import java.io.IOException;
+import java.time.Duration;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
 
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -26,6 +41,7 @@ import static org.junit.jupiter.api.Assertions.*;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
 @AutoConfigureWebTestClient
+@AutoConfigureObservability
 class CatalogFunctionalTest {
 
     @Autowired
@@ -59,6 +75,64 @@ class CatalogFunctionalTest {
                 });
 
     }
+    @Test
+    @DisplayName("Find products page - Following next cursors visits every product once")
+    void testListProductsPages() {
+        List<Long> allIds = webTestClient.get().uri("/products")
+                .exchange()
+                .expectBodyList(ProductEntity.class)
+                .returnResult().getResponseBody()
+                .stream().map(ProductEntity::getId).sorted().toList();
+
+        List<Long> pagedIds = new ArrayList<>();
+        ProductPageDTO page = fetchProductsPage("/products/page?size=7");
+        pagedIds.addAll(page.getItems().stream().map(ProductEntity::getId).toList());
+        while (page.getNext() != null) {
+            page = fetchProductsPage("/products/page?size=7&after=" + page.getNext());
+            assertTrue(page.getItems().size() <= 7);
+            pagedIds.addAll(page.getItems().stream().map(ProductEntity::getId).toList());
+        }
+
+        assertEquals(allIds, pagedIds);
+    }
+
+    private ProductPageDTO fetchProductsPage(String uri) {
+        ProductPageDTO page = webTestClient.get().uri(uri)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(ProductPageDTO.class)
+                .returnResult().getResponseBody();
+        assertNotNull(page);
+        return page;
+    }
+
+    @Test
+    @DisplayName("Find products page - Invalid page size")
+    void testListProductsPage_BadRequest() {
+        webTestClient.get().uri("/products/page?size=0")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    @DisplayName("Stream all products - NDJSON with one product per line")
+    void testStreamAllProducts() {
+        int productCount = webTestClient.get().uri("/products")
+                .exchange()
+                .expectBodyList(ProductEntity.class)
+                .returnResult().getResponseBody().size();
+
+        String body = webTestClient.get().uri("/products/stream")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_NDJSON)
+                .expectBody(String.class)
+                .returnResult().getResponseBody();
+
+        assertNotNull(body);
+        assertEquals(productCount, body.lines().count());
+    }
+
     @Test
     @DisplayName("Add NewProduct - Success")
 
@@ -111,6 +185,34 @@ class CatalogFunctionalTest {
 
     }
 
+    @Test
+    @DisplayName("Get Product by ID - Not modified until the product changes")
+    void testGetProductDetails_ConditionalGet() {
+        long productId = 8L;
+        String eTag = webTestClient.get().uri("/products/{id}", productId)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(ProductEntity.class)
+                .getResponseHeaders().getETag();
+        assertNotNull(eTag);
+
+        webTestClient.get().uri("/products/{id}", productId)
+                .ifNoneMatch(eTag)
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectBody().isEmpty();
+
+        webTestClient.patch().uri("/products/newStock/{id}/{quantity}?quantity={quantity}", productId, 1, 1)
+                .exchange()
+                .expectStatus().isOk();
+
+        webTestClient.get().uri("/products/{id}", productId)
+                .ifNoneMatch(eTag)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().value(HttpHeaders.ETAG, changedETag -> assertNotEquals(eTag, changedETag));
+    }
+
     @Test
 
     @DisplayName("Add new product - BadRequest")
@@ -158,6 +260,36 @@ class CatalogFunctionalTest {
                 .jsonPath("$.errorCode").doesNotExist();
     }
 
+    @Test
+    @DisplayName("Update product price - Conflict when edited from a stale ETag")
+    void testUpdateProductPrice_StaleETag() {
+        long productId = 9L;
+        ProductEntity product = webTestClient.get().uri("/products/{id}", productId)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(ProductEntity.class)
+                .returnResult().getResponseBody();
+        assertNotNull(product);
+        String eTag = "\"" + product.getVersion() + "-" + product.getEffectivePrice() + "\"";
+
+        webTestClient.patch().uri("/products/newStock/{id}/{quantity}?quantity={quantity}", productId, 1, 1)
+                .exchange()
+                .expectStatus().isOk();
+
+        webTestClient.patch().uri("/products/newPrice/{id}/{newPrice}?newPrice={newPrice}", productId, 1.0, 1.0)
+                .header(HttpHeaders.IF_MATCH, eTag)
+                .exchange()
+                .expectStatus().isEqualTo(409)
+                .expectBody()
+                .jsonPath("$.status").isEqualTo("CONFLICT")
+                .jsonPath("$.currentVersion").isEqualTo(product.getVersion() + 1);
+
+        webTestClient.get().uri("/products/{id}", productId)
+                .exchange()
+                .expectBody()
+                .jsonPath("$.price").isEqualTo(product.getPrice());
+    }
+
     @Test
     @DisplayName("Update Product - Not Found")
     void testUpdateProduct_NotFound() {
@@ -222,6 +354,121 @@ class CatalogFunctionalTest {
                 .jsonPath("$.status").isEqualTo("NOT_FOUND");
     }
 
+    @Test
+    @DisplayName("Reserve stock of several products - Success")
+    void testReserveProductsStock() {
+        List<StockReservationDTO> reservations = List.of(new StockReservationDTO(11L, -4), new StockReservationDTO(10L, -3));
+
+        webTestClient.patch().uri("/products/newStock")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(reservations)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$[0].productId").isEqualTo(11)
+                .jsonPath("$[0].currentStock").isEqualTo(65)
+                .jsonPath("$[1].productId").isEqualTo(10)
+                .jsonPath("$[1].currentStock").isEqualTo(80);
+    }
+
+    @Test
+    @DisplayName("Reserve stock of several products - Insufficient stock rolls back every line")
+    void testReserveProductsStock_RolledBack() {
+        List<StockReservationDTO> reservations = List.of(new StockReservationDTO(12L, -1), new StockReservationDTO(13L, -1000));
+
+        webTestClient.patch().uri("/products/newStock")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(reservations)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.status").isEqualTo("BAD_REQUEST");
+
+        webTestClient.get().uri("/products/{id}", 12L)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.currentStock").isEqualTo(150);
+    }
+
+    @Test
+    @DisplayName("Find products by IDs - Smile when accepted, JSON by default")
+    void testListProductsByIds_Smile() throws IOException {
+        MediaType smile = MediaType.parseMediaType("application/x-jackson-smile");
+        byte[] body = webTestClient.post().uri("/products/byIds")
+                .accept(smile)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(List.of(1L, 2L))
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(smile)
+                .expectBody(byte[].class)
+                .returnResult().getResponseBody();
+
+        List<ProductEntity> products = new SmileMapper().readValue(body, new TypeReference<>() {});
+        assertEquals(2, products.size());
+        webTestClient.post().uri("/products/byIds")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(List.of(1L, 2L))
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_JSON);
+    }
+
+    @Test
+    @DisplayName("Get product details - Each representation has its own ETag")
+    void testGetProductDetails_ETagPerRepresentation() {
+        MediaType smile = MediaType.parseMediaType("application/x-jackson-smile");
+        String jsonETag = webTestClient.get().uri("/products/1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.VARY, HttpHeaders.ACCEPT)
+                .expectBody(byte[].class)
+                .returnResult().getResponseHeaders().getETag();
+        String smileETag = webTestClient.get().uri("/products/1")
+                .accept(smile)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(smile)
+                .expectBody(byte[].class)
+                .returnResult().getResponseHeaders().getETag();
+
+        assertNotEquals(jsonETag, smileETag);
+        webTestClient.get().uri("/products/1")
+                .accept(smile)
+                .ifNoneMatch(jsonETag)
+                .exchange()
+                .expectStatus().isOk();
+        webTestClient.get().uri("/products/1")
+                .accept(smile)
+                .ifNoneMatch(smileETag)
+                .exchange()
+                .expectStatus().isNotModified();
+    }
+
+    @Test
+    @DisplayName("Calculate cart prices - CBOR request and response")
+    void testGetPriceProductCheckoutV2_Cbor() throws IOException {
+        CBORMapper cborMapper = new CBORMapper();
+        MediaType cbor = MediaType.parseMediaType("application/cbor");
+        byte[] request = cborMapper.writeValueAsBytes(List.of(
+                CartProductDTO.builder().productId(1L).quantity(2).build(),
+                CartProductDTO.builder().productId(2L).quantity(1).build()));
+
+        byte[] body = webTestClient.post().uri("/products/volumePromotion")
+                .accept(cbor)
+                .contentType(cbor)
+                .bodyValue(request)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(cbor)
+                .expectBody(byte[].class)
+                .returnResult().getResponseBody();
+
+        List<ProductEntity> products = cborMapper.readValue(body, new TypeReference<>() {});
+        assertEquals(List.of(1L, 2L), products.stream().map(ProductEntity::getId).toList());
+    }
+
     @Test
     @DisplayName("List all promotions - Success")
     void testGetAllPromotionsSuccess() {
@@ -237,6 +484,32 @@ class CatalogFunctionalTest {
                 });
     }
     @Test
+    @DisplayName("List all promotions - Not modified until a promotion changes")
+    void testGetAllPromotions_ConditionalGet() {
+        String eTag = webTestClient.get().uri("/promotions")
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(PromotionEntity.class)
+                .getResponseHeaders().getETag();
+        assertNotNull(eTag);
+
+        webTestClient.get().uri("/promotions")
+                .ifNoneMatch(eTag)
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectBody().isEmpty();
+
+        PromotionEntity promotion = promotionRepository.findById(2L).orElseThrow();
+        promotionRepository.updateActiveStatus(List.of(2L), !promotion.getIsActive());
+        promotionRepository.updateActiveStatus(List.of(2L), promotion.getIsActive());
+
+        webTestClient.get().uri("/promotions")
+                .ifNoneMatch(eTag)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().value(HttpHeaders.ETAG, changedETag -> assertNotEquals(eTag, changedETag));
+    }
+    @Test
     @DisplayName("Get Promotion Details - Success")
     void testGetPromotionDetailsSuccess() {
         PromotionEntity existingPromotion = promotionRepository.findAll().stream().findFirst()
@@ -388,6 +661,23 @@ class CatalogFunctionalTest {
                 });
     }
 
+    @Test
+    @DisplayName("Find all categories - Not modified with the current ETag")
+    void testFindAllCategories_ConditionalGet() {
+        String eTag = webTestClient.get().uri("/categories")
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(CategoryEntity.class)
+                .getResponseHeaders().getETag();
+        assertNotNull(eTag);
+
+        webTestClient.get().uri("/categories")
+                .ifNoneMatch(eTag)
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectBody().isEmpty();
+    }
+
     @Test
     @DisplayName("Add NewProduct - Success")
 
@@ -465,6 +755,85 @@ class CatalogFunctionalTest {
 
     }
 
+    @Test
+    @DisplayName("List Products by Category ID and Name - Case-insensitive prefix")
+    void testListProductsByCategoryIdAndName_CaseInsensitive() {
+        List<ProductEntity> lowerCase = webTestClient.get()
+                .uri("/categories/{categoryId}/{name}/products", 2L, "puz")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(ProductEntity.class)
+                .returnResult().getResponseBody();
+        List<ProductEntity> upperCase = webTestClient.get()
+                .uri("/categories/{categoryId}/{name}/products", 2L, "PUZ")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(ProductEntity.class)
+                .returnResult().getResponseBody();
+
+        assertNotNull(lowerCase);
+        assertEquals(3, lowerCase.size());
+        assertEquals(lowerCase, upperCase);
+        assertTrue(lowerCase.stream().allMatch(product -> product.getName().equals("Puzzle")));
+    }
+
+    @Test
+    @DisplayName("Export catalog - CBOR sequence with every section")
+    void testExportCatalog() throws IOException {
+        byte[] body = webTestClient.get().uri("/export")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType("application/cbor-seq")
+                .expectBody(byte[].class)
+                .returnResult().getResponseBody();
+
+        List<JsonNode> items;
+        try (MappingIterator<JsonNode> iterator = new CBORMapper().readerFor(JsonNode.class).readValues(body)) {
+            items = iterator.readAll();
+        }
+        List<String> sections = items.stream()
+                .filter(JsonNode::isObject)
+                .map(item -> item.get("section").asText())
+                .toList();
+        assertEquals(List.of("categories", "products", "promotions"), sections);
+        assertTrue(items.stream().filter(JsonNode::isArray).count() >= 46);
+    }
+
+    @Test
+    @DisplayName("Search products - Description words ranked and filtered")
+    void testSearchProducts() {
+        webTestClient.get()
+                .uri("/products/search?q={query}&categoryId={categoryId}", "rock", 2L)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.total").isEqualTo(1)
+                .jsonPath("$.items[0].product.name").isEqualTo("Puzzle")
+                .jsonPath("$.items[0].score").value(score -> assertTrue(((Number) score).doubleValue() > 0));
+    }
+
+    @Test
+    @DisplayName("Search products - Empty query - Bad Request")
+    void testSearchProducts_EmptyQuery() {
+        webTestClient.get()
+                .uri("/products/search?q= ")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    @DisplayName("Suggest product names - Top matches of the category")
+    void testSuggestProductNames() {
+        webTestClient.get()
+                .uri("/categories/{categoryId}/products/typeahead?prefix={prefix}&limit={limit}", 2L, "PUZ", 2)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(2)
+                .jsonPath("$[0].name").isEqualTo("Puzzle")
+                .jsonPath("$[1].name").isEqualTo("Puzzle");
+    }
+
     @Test
     @DisplayName("Add New Category with Invalid Data - Bad Request")
     void testAddNewCategory_InvalidData() {
@@ -517,5 +886,60 @@ class CatalogFunctionalTest {
                 .jsonPath("$.status").isEqualTo("NOT_FOUND");
     }
 
-}
+    @Test
+    @DisplayName("Prometheus scrape - Exposes service timers, pool and Hibernate metrics")
+    void testPrometheusScrape() {
+        webTestClient.get().uri("/products/{id}", 1L)
+                .exchange()
+                .expectStatus().isOk();
+
+        String scrape = webTestClient.mutate()
+                .codecs(codecs -> codecs.defaultCodecs().maxInMemorySize(16 * 1024 * 1024))
+                .build()
+                .get().uri("/actuator/prometheus")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class)
+                .returnResult()
+                .getResponseBody();
+
+        assertNotNull(scrape);
+        assertTrue(scrape.contains("catalog_service_seconds{class=\"com.gftworkshopcatalog.services.impl.ProductServiceImpl\""));
+        assertTrue(scrape.contains("quantile=\"0.99\""));
+        assertTrue(scrape.contains("http_server_requests_seconds_bucket"));
+        assertTrue(scrape.contains("hikaricp_connections_active"));
+        assertTrue(scrape.contains("hibernate_statements_total"));
+        assertTrue(scrape.contains("cache_gets_total{cache=\"products\""));
+    }
+
+    @Test
+    @DisplayName("Health probes - Live immediately and ready once warmup has finished")
+    void testHealthProbes() throws InterruptedException {
+        webTestClient.get().uri("/actuator/health/liveness")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.status").isEqualTo("UP");
+
+        long deadline = System.nanoTime() + Duration.ofSeconds(30).toNanos();
+        HttpStatusCode readiness = readinessStatus();
+        while (!readiness.is2xxSuccessful() && System.nanoTime() < deadline) {
+            Thread.sleep(100);
+            readiness = readinessStatus();
+        }
+        assertTrue(readiness.is2xxSuccessful(), "Readiness should report UP after warmup");
+
+        webTestClient.get().uri("/actuator/metrics/catalog.startup.phase?tag=phase:total")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.measurements[?(@.statistic == 'COUNT')].value").isEqualTo(1.0);
+    }
 
+    private HttpStatusCode readinessStatus() {
+        return webTestClient.get().uri("/actuator/health/readiness")
+                .exchange()
+                .returnResult(String.class)
+                .getStatus();
+    }
+}
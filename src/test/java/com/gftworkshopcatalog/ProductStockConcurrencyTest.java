@@ -0,0 +1,78 @@
+package com.gftworkshopcatalog;
+
+import com.gftworkshopcatalog.model.ProductEntity;
+import com.gftworkshopcatalog.repositories.ProductRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:stockConcurrency;LOCK_TIMEOUT=10000",
+        "spring.jpa.show-sql=false",
+        "logging.level.com.gftworkshopcatalog=WARN"
+})
+@AutoConfigureWebTestClient
+class ProductStockConcurrencyTest {
+
+    private static final long PRODUCT_ID = 1L;
+    private static final int INITIAL_STOCK = 1500;
+    private static final int DECREMENTS = 2000;
+    private static final int CLIENT_THREADS = 32;
+
+    @Autowired
+    WebTestClient webTestClient;
+
+    @Autowired
+    ProductRepository productRepository;
+
+    @Test
+    @DisplayName("Parallel stock decrements - No lost updates and never negative")
+    void parallelDecrements_exactFinalStock() throws Exception {
+        ProductEntity product = productRepository.findById(PRODUCT_ID).orElseThrow();
+        product.setCurrentStock(INITIAL_STOCK);
+        productRepository.save(product);
+
+        WebTestClient client = webTestClient.mutate().responseTimeout(Duration.ofSeconds(30)).build();
+        ExecutorService executor = Executors.newFixedThreadPool(CLIENT_THREADS);
+        List<Future<HttpStatusCode>> responses = new ArrayList<>(DECREMENTS);
+        try {
+            for (int i = 0; i < DECREMENTS; i++) {
+                responses.add(executor.submit(() -> client.patch()
+                        .uri("/products/newStock/{id}/{quantity}?quantity={quantity}", PRODUCT_ID, -1, -1)
+                        .exchange()
+                        .returnResult(Void.class)
+                        .getStatus()));
+            }
+            int accepted = 0;
+            int rejected = 0;
+            for (Future<HttpStatusCode> response : responses) {
+                HttpStatusCode status = response.get();
+                if (status.is2xxSuccessful()) {
+                    accepted++;
+                } else if (status.value() == 400) {
+                    rejected++;
+                }
+            }
+
+            assertEquals(INITIAL_STOCK, accepted, "Every unit of stock should be sold exactly once");
+            assertEquals(DECREMENTS - INITIAL_STOCK, rejected, "Decrements beyond the available stock should be rejected");
+            assertEquals(0, productRepository.findById(PRODUCT_ID).orElseThrow().getCurrentStock());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.gftworkshopcatalog;
+
+import com.gftworkshopcatalog.exceptions.ErrorResponse;
+import com.gftworkshopcatalog.model.ProductEntity;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.EntityExchangeResult;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:reactiveCatalog",
+        "spring.jpa.show-sql=false"
+})
+@AutoConfigureWebTestClient
+class ReactiveCatalogFunctionalTest {
+
+    @Autowired
+    WebTestClient webTestClient;
+
+    @Test
+    @DisplayName("Reactive product details - Same product and ETag as the servlet API")
+    void getProductDetails_matchesServletApi() {
+        EntityExchangeResult<ProductEntity> servletResult = webTestClient.get().uri("/products/1")
+                .exchange()
+                .expectBody(ProductEntity.class)
+                .returnResult();
+
+        ProductEntity product = webTestClient.get().uri("/reactive/products/1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals("ETag", servletResult.getResponseHeaders().getETag())
+                .expectBody(ProductEntity.class)
+                .returnResult().getResponseBody();
+
+        assertEquals(servletResult.getResponseBody(), product);
+    }
+
+    @Test
+    @DisplayName("Reactive product details - Not found")
+    void getProductDetails_notFound() {
+        webTestClient.get().uri("/reactive/products/9999")
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody(ErrorResponse.class)
+                .value(error -> assertEquals("Product not found with ID: 9999", error.getMessage()));
+    }
+
+    @Test
+    @DisplayName("Reactive products by IDs - Found and missing")
+    void listProductsById() {
+        webTestClient.post().uri("/reactive/products/byIds")
+                .bodyValue(List.of(1L, 2L))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(ProductEntity.class)
+                .hasSize(2);
+
+        webTestClient.post().uri("/reactive/products/byIds")
+                .bodyValue(List.of(1L, 9999L))
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    @DisplayName("Reactive products by category - NDJSON stream matches the servlet API")
+    void listProductsByCategoryId_ndjson() {
+        List<ProductEntity> expected = webTestClient.get().uri("/categories/1/products")
+                .exchange()
+                .expectBodyList(ProductEntity.class)
+                .returnResult().getResponseBody();
+
+        List<ProductEntity> streamed = webTestClient.get().uri("/reactive/categories/1/products")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_NDJSON)
+                .returnResult(ProductEntity.class)
+                .getResponseBody()
+                .collectList()
+                .block();
+
+        assertNotNull(expected);
+        assertEquals(expected.stream().map(ProductEntity::getId).sorted().toList(),
+                streamed.stream().map(ProductEntity::getId).toList());
+    }
+
+    @Test
+    @DisplayName("Reactive products by category - Unknown category")
+    void listProductsByCategoryId_notFound() {
+        webTestClient.get().uri("/reactive/categories/9999/products")
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+}
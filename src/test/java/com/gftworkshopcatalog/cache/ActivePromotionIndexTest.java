@@ -0,0 +1,104 @@
+package com.gftworkshopcatalog.cache;
+
+import com.gftworkshopcatalog.model.PromotionEntity;
+import com.gftworkshopcatalog.repositories.PromotionRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ActivePromotionIndexTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2024, 6, 10);
+
+    @Mock
+    private PromotionRepository promotionRepository;
+    @Mock
+    private Clock clock;
+
+    private ActivePromotionIndex activePromotionIndex;
+    private PromotionEntity currentPromotion;
+    private PromotionEntity upcomingPromotion;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(clock.getZone()).thenReturn(ZoneOffset.UTC);
+        setToday(TODAY);
+
+        currentPromotion = new PromotionEntity(1L, 1L, 0.20, "VOLUME", 5, TODAY.minusDays(5), TODAY, true);
+        upcomingPromotion = new PromotionEntity(2L, 2L, 0.10, "SEASONAL", 1, TODAY.plusDays(1), TODAY.plusDays(30), true);
+        when(promotionRepository.findAll()).thenReturn(List.of(currentPromotion, upcomingPromotion));
+
+        activePromotionIndex = new ActivePromotionIndex(promotionRepository, clock, new SimpleMeterRegistry());
+    }
+
+    @Test
+    @DisplayName("Find active promotion - Served from the snapshot")
+    void findActivePromotion_servedFromSnapshot() {
+        assertEquals(currentPromotion, activePromotionIndex.findActivePromotionByCategoryIdAndType(1L, "VOLUME"));
+        assertNull(activePromotionIndex.findActivePromotionByCategoryIdAndType(1L, "SEASONAL"));
+        assertNull(activePromotionIndex.findActivePromotionByCategoryIdAndType(2L, "SEASONAL"));
+
+        verify(promotionRepository, times(1)).findAll();
+    }
+
+    @Test
+    @DisplayName("Find active promotion - Rebuilt when a date boundary passes")
+    void findActivePromotion_rebuiltOnBoundary() {
+        activePromotionIndex.findActivePromotionByCategoryIdAndType(1L, "VOLUME");
+
+        setToday(TODAY.plusDays(1));
+
+        assertNull(activePromotionIndex.findActivePromotionByCategoryIdAndType(1L, "VOLUME"));
+        assertEquals(upcomingPromotion, activePromotionIndex.findActivePromotionByCategoryIdAndType(2L, "SEASONAL"));
+        verify(promotionRepository, times(2)).findAll();
+    }
+
+    @Test
+    @DisplayName("Refresh - Picks up written promotions")
+    void refresh_picksUpWrites() {
+        activePromotionIndex.findActivePromotionByCategoryIdAndType(1L, "VOLUME");
+        PromotionEntity newPromotion = new PromotionEntity(3L, 3L, 0.15, "VOLUME", 2, TODAY, TODAY.plusDays(3), true);
+        when(promotionRepository.findAll()).thenReturn(List.of(currentPromotion, newPromotion));
+
+        activePromotionIndex.refresh();
+
+        assertEquals(newPromotion, activePromotionIndex.findActivePromotionByCategoryIdAndType(3L, "VOLUME"));
+    }
+
+    @Test
+    @DisplayName("Find active promotion - One promotion per type when a category has both")
+    void findActivePromotion_perType() {
+        PromotionEntity seasonalPromotion = new PromotionEntity(3L, 1L, 0.10, "SEASONAL", 1, TODAY.minusDays(1), TODAY, true);
+        when(promotionRepository.findAll()).thenReturn(List.of(currentPromotion, seasonalPromotion));
+        activePromotionIndex.refresh();
+
+        assertEquals(currentPromotion, activePromotionIndex.findActivePromotionByCategoryIdAndType(1L, "VOLUME"));
+        assertEquals(seasonalPromotion, activePromotionIndex.findActivePromotionByCategoryIdAndType(1L, "SEASONAL"));
+    }
+
+    @Test
+    @DisplayName("Find active promotion - Latest start wins among overlapping promotions of one type")
+    void findActivePromotion_latestStartWins() {
+        PromotionEntity laterPromotion = new PromotionEntity(3L, 1L, 0.30, "VOLUME", 10, TODAY.minusDays(2), TODAY, true);
+        when(promotionRepository.findAll()).thenReturn(List.of(currentPromotion, laterPromotion));
+        activePromotionIndex.refresh();
+
+        assertEquals(laterPromotion, activePromotionIndex.findActivePromotionByCategoryIdAndType(1L, "VOLUME"));
+    }
+
+    private void setToday(LocalDate day) {
+        when(clock.instant()).thenReturn(day.atStartOfDay().toInstant(ZoneOffset.UTC));
+    }
+}
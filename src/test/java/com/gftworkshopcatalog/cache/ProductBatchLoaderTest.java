@@ -0,0 +1,104 @@
+package com.gftworkshopcatalog.cache;
+
+import com.gftworkshopcatalog.model.ProductEntity;
+import com.gftworkshopcatalog.repositories.ProductRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.*;
+
+class ProductBatchLoaderTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        executor = Executors.newFixedThreadPool(4);
+        when(productRepository.findAllById(anyIterable())).thenAnswer(invocation -> {
+            List<ProductEntity> products = new ArrayList<>();
+            for (Long productId : invocation.<Iterable<Long>>getArgument(0)) {
+                if (productId < 100) {
+                    products.add(ProductEntity.builder().id(productId).name("Product " + productId).build());
+                }
+            }
+            return products;
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Load all - Concurrent lookups within the window share one query")
+    void loadAll_concurrentLookupsBatched() throws Exception {
+        ProductBatchLoader loader = new ProductBatchLoader(productRepository, Duration.ofSeconds(5), 4, meterRegistry);
+
+        Future<Map<Long, ProductEntity>> first = executor.submit(() -> loader.loadAll(List.of(1L, 2L)));
+        Future<Map<Long, ProductEntity>> second = executor.submit(() -> loader.loadAll(List.of(2L, 3L, 999L)));
+
+        assertEquals(Set.of(1L, 2L), first.get(2, TimeUnit.SECONDS).keySet());
+        assertEquals(Set.of(2L, 3L), second.get(2, TimeUnit.SECONDS).keySet());
+        verify(productRepository, times(1)).findAllById(anyIterable());
+        assertEquals(4.0, meterRegistry.get("catalog.products.batch.size").summary().max());
+        assertEquals(2.0, meterRegistry.get("catalog.products.batch.requests").summary().max());
+        assertEquals(2, meterRegistry.get("catalog.products.batch.wait").timer().count());
+    }
+
+    @Test
+    @DisplayName("Load all - The window bounds the added latency")
+    void loadAll_flushedAfterWindow() {
+        ProductBatchLoader loader = new ProductBatchLoader(productRepository, Duration.ofMillis(20), 500, meterRegistry);
+
+        Map<Long, ProductEntity> products = loader.loadAll(List.of(1L, 999L));
+
+        assertEquals(Set.of(1L), products.keySet());
+        assertTrue(meterRegistry.get("catalog.products.batch.wait").timer().max(TimeUnit.MILLISECONDS) >= 20);
+    }
+
+    @Test
+    @DisplayName("Load all - Zero window queries directly")
+    void loadAll_zeroWindowDirect() {
+        ProductBatchLoader loader = new ProductBatchLoader(productRepository, Duration.ZERO, 500, meterRegistry);
+
+        assertEquals(2, loader.loadAll(List.of(1L, 2L)).size());
+        assertEquals(1, loader.loadAll(List.of(3L)).size());
+
+        verify(productRepository, times(2)).findAllById(anyIterable());
+    }
+
+    @Test
+    @DisplayName("Load all - Failures reach every lookup of the batch")
+    void loadAll_failurePropagated() {
+        when(productRepository.findAllById(anyIterable())).thenThrow(new IllegalStateException("Connection refused"));
+        ProductBatchLoader loader = new ProductBatchLoader(productRepository, Duration.ofMillis(1), 500, meterRegistry);
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class, () -> loader.loadAll(List.of(1L)));
+
+        assertEquals("Connection refused", exception.getMessage());
+    }
+}
@@ -0,0 +1,169 @@
+package com.gftworkshopcatalog.cache;
+
+import com.gftworkshopcatalog.model.ProductEntity;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private ProductCache productCache;
+    private ProductEntity product;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        productCache = new ProductCache(100, Duration.ofMinutes(10), meterRegistry);
+        product = new ProductEntity(1L, "Jacket", "Description", 100.0, 1L, 3.71, 26, 10);
+    }
+
+    @Test
+    @DisplayName("Get - Hits and misses are counted")
+    void get_recordsHitsAndMisses() {
+        assertNull(productCache.get(1L));
+        productCache.put(product);
+        assertEquals(product, productCache.get(1L));
+
+        assertEquals(1, productCache.stats().hitCount());
+        assertEquals(1, productCache.stats().missCount());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "products").tag("result", "hit").functionCounter().count());
+    }
+
+    @Test
+    @DisplayName("Evict - Removes only the given products")
+    void evictAll_removesGivenProducts() {
+        ProductEntity other = new ProductEntity(2L, "Puzzle", "Description", 20.0, 2L, 1.0, 10, 1);
+        productCache.putAll(List.of(product, other));
+
+        productCache.evict(1L);
+
+        assertNull(productCache.get(1L));
+        assertEquals(other, productCache.get(2L));
+    }
+
+    @Test
+    @DisplayName("Get with loader - Eviction waits for the load in flight")
+    void get_evictionWaitsForLoad() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<ProductEntity> load = executor.submit(() -> productCache.get(1L, productId -> {
+                loading.countDown();
+                await(release);
+                return product;
+            }));
+            assertTrue(loading.await(5, TimeUnit.SECONDS));
+            Future<?> eviction = executor.submit(() -> productCache.evict(1L));
+            Thread.sleep(50);
+            assertFalse(eviction.isDone(), "The eviction must not overtake the load");
+
+            release.countDown();
+            eviction.get(5, TimeUnit.SECONDS);
+
+            assertEquals(product, load.get(5, TimeUnit.SECONDS));
+            assertNull(productCache.get(1L));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Get with loader - Lookups waiting on a load in flight are counted as joined")
+    void get_countsJoinedLookups() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<Thread> lookups = new ArrayList<>();
+        Thread loader = new Thread(() -> productCache.get(1L, productId -> {
+            loading.countDown();
+            await(release);
+            return product;
+        }));
+        loader.start();
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < 3; i++) {
+            Thread lookup = new Thread(() -> productCache.get(1L, productId -> product));
+            lookup.start();
+            lookups.add(lookup);
+        }
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (lookups.stream().anyMatch(lookup -> lookup.getState() == Thread.State.RUNNABLE || lookup.getState() == Thread.State.NEW)
+                && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        release.countDown();
+        loader.join(5000);
+        for (Thread lookup : lookups) {
+            lookup.join(5000);
+        }
+        productCache.get(1L, productId -> product);
+
+        assertEquals(1.0, meterRegistry.get("catalog.coalescing.calls").tag("name", "products").tag("outcome", "loaded").counter().count());
+        assertEquals(3.0, meterRegistry.get("catalog.coalescing.calls").tag("name", "products").tag("outcome", "joined").counter().count());
+        assertEquals(0.75, meterRegistry.get("catalog.coalescing.ratio").tag("name", "products").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Get all with loader - Only missing products are loaded")
+    void getAll_loadsMissingProducts() {
+        ProductEntity other = new ProductEntity(2L, "Puzzle", "Description", 20.0, 2L, 1.0, 10, 1);
+        productCache.put(product);
+
+        Map<Long, ProductEntity> products = productCache.getAll(List.of(1L, 2L, 3L), missingIds -> {
+            assertEquals(List.of(2L, 3L), missingIds);
+            return List.of(other);
+        });
+
+        assertEquals(Map.of(1L, product, 2L, other), products);
+        assertEquals(other, productCache.get(2L));
+    }
+
+    @Test
+    @DisplayName("Get all with loader - Products loaded across an eviction are not cached")
+    void getAll_evictionDuringLoad() {
+        Map<Long, ProductEntity> products = productCache.getAll(List.of(1L), missingIds -> {
+            productCache.evict(1L);
+            return List.of(product);
+        });
+
+        assertEquals(product, products.get(1L));
+        assertNull(productCache.get(1L));
+    }
+
+    @Test
+    @DisplayName("Preload - Products read across an eviction are not cached")
+    void preload_evictionDuringLoad() {
+        ProductEntity other = new ProductEntity(2L, "Puzzle", "Description", 20.0, 2L, 1.0, 10, 1);
+
+        productCache.preload(() -> List.of(other));
+        productCache.preload(() -> {
+            productCache.evict(1L);
+            return List.of(product);
+        });
+
+        assertEquals(other, productCache.get(2L));
+        assertNull(productCache.get(1L));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.gftworkshopcatalog.cache;
+
+import com.gftworkshopcatalog.api.dto.ProductSuggestionDTO;
+import com.gftworkshopcatalog.model.ProductEntity;
+import com.gftworkshopcatalog.repositories.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ProductNameIndexTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    private ProductNameIndex productNameIndex;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(productRepository.findAll()).thenReturn(List.of(
+                product(1L, "Puzzle", 2L),
+                product(2L, "Pelota", 2L),
+                product(3L, "puzzle 3D", 2L),
+                product(4L, "Puzzle", 2L),
+                product(5L, "Puzzle", 3L)));
+        productNameIndex = new ProductNameIndex(productRepository);
+    }
+
+    @Test
+    @DisplayName("Find by prefix - Case-insensitive matches of the category in name order")
+    void findByPrefix_caseInsensitiveInOrder() {
+        List<ProductSuggestionDTO> suggestions = productNameIndex.findByPrefix(2L, "PUZ", 10);
+
+        assertEquals(List.of(new ProductSuggestionDTO(1L, "Puzzle"), new ProductSuggestionDTO(4L, "Puzzle"),
+                new ProductSuggestionDTO(3L, "puzzle 3D")), suggestions);
+        assertEquals(2, productNameIndex.findByPrefix(2L, "puz", 2).size());
+        assertTrue(productNameIndex.findByPrefix(2L, "x", 10).isEmpty());
+        assertTrue(productNameIndex.findByPrefix(9L, "puz", 10).isEmpty());
+        verify(productRepository, times(1)).findAll();
+    }
+
+    @Test
+    @DisplayName("Put and remove - Applied without reloading")
+    void putAndRemove_updateIncrementally() {
+        productNameIndex.rebuild();
+
+        productNameIndex.put(product(6L, "Pub Quiz", 2L));
+        productNameIndex.put(product(1L, "Puzzle", 3L));
+        productNameIndex.remove(3L);
+
+        assertEquals(List.of(new ProductSuggestionDTO(6L, "Pub Quiz"), new ProductSuggestionDTO(4L, "Puzzle")),
+                productNameIndex.findByPrefix(2L, "pu", 10));
+        assertEquals(List.of(new ProductSuggestionDTO(1L, "Puzzle"), new ProductSuggestionDTO(5L, "Puzzle")),
+                productNameIndex.findByPrefix(3L, "puzzle", 10));
+        verify(productRepository, times(1)).findAll();
+    }
+
+    private static ProductEntity product(Long id, String name, Long categoryId) {
+        return new ProductEntity(id, name, "Description", 10.0, categoryId, 1.0, 10, 1);
+    }
+}
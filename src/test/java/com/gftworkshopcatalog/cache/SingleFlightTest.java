@@ -0,0 +1,117 @@
+package com.gftworkshopcatalog.cache;
+
+import com.gftworkshopcatalog.exceptions.NotFoundProduct;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+
+    private static final int CALLERS = 8;
+
+    private SimpleMeterRegistry meterRegistry;
+    private SingleFlight<Long, String> singleFlight;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        singleFlight = new SingleFlight<>("test", meterRegistry);
+        executor = Executors.newFixedThreadPool(CALLERS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Load - Concurrent callers share one load")
+    void load_concurrentCallersShareResult() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+        List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            results.add(executor.submit(() -> singleFlight.load(1L, id -> {
+                loads.incrementAndGet();
+                await(release);
+                return "product-" + id;
+            })));
+        }
+        awaitJoined(CALLERS - 1);
+        release.countDown();
+
+        for (Future<String> result : results) {
+            assertEquals("product-1", result.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, loads.get());
+        assertEquals((CALLERS - 1) / (double) CALLERS, meterRegistry.get("catalog.coalescing.ratio").tag("name", "test").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Load - Joined callers get the loader's exception")
+    void load_failureShared() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        Future<String> leader = executor.submit(() -> singleFlight.load(1L, id -> {
+            await(release);
+            throw new NotFoundProduct("Product not found with ID: " + id);
+        }));
+        awaitLoaded(1);
+        Future<String> follower = executor.submit(() -> singleFlight.load(1L, id -> "unexpected"));
+        awaitJoined(1);
+        release.countDown();
+
+        Exception leaderFailure = assertThrows(Exception.class, () -> leader.get(5, TimeUnit.SECONDS));
+        Exception followerFailure = assertThrows(Exception.class, () -> follower.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(NotFoundProduct.class, leaderFailure.getCause());
+        assertInstanceOf(NotFoundProduct.class, followerFailure.getCause());
+    }
+
+    @Test
+    @DisplayName("Load - Nothing is kept once a load completes")
+    void load_notCached() {
+        assertEquals("first", singleFlight.load(1L, id -> "first"));
+        assertEquals("second", singleFlight.load(1L, id -> "second"));
+        assertEquals("other", singleFlight.load(2L, id -> "other"));
+
+        assertEquals(3.0, meterRegistry.get("catalog.coalescing.calls").tag("outcome", "loaded").counter().count());
+        assertEquals(0.0, meterRegistry.get("catalog.coalescing.ratio").gauge().value());
+    }
+
+    private void awaitLoaded(int count) throws InterruptedException {
+        awaitCount("loaded", count);
+    }
+
+    private void awaitJoined(int count) throws InterruptedException {
+        awaitCount("joined", count);
+    }
+
+    private void awaitCount(String outcome, int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.get("catalog.coalescing.calls").tag("outcome", outcome).counter().count() < count
+                && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.gftworkshopcatalog.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestConcurrencyFilterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private RequestConcurrencyFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new RequestConcurrencyFilter(1, Duration.ofMillis(10), meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Concurrency limit - Permits are released after each request")
+    void sequentialRequests_admitted() throws Exception {
+        MockHttpServletResponse first = new MockHttpServletResponse();
+        MockHttpServletResponse second = new MockHttpServletResponse();
+
+        filter.doFilter(request("/products/1"), first, new MockFilterChain());
+        filter.doFilter(request("/products/1"), second, new MockFilterChain());
+
+        assertEquals(200, first.getStatus());
+        assertEquals(200, second.getStatus());
+        assertEquals(0, meterRegistry.get("catalog.requests.in.flight").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Concurrency limit - Requests beyond the limit get 503 after the admission timeout")
+    void requestBeyondLimit_rejected() throws Exception {
+        MockHttpServletResponse overflow = new MockHttpServletResponse();
+        MockFilterChain chainHoldingPermit = new MockFilterChain() {
+            @Override
+            public void doFilter(jakarta.servlet.ServletRequest request, jakarta.servlet.ServletResponse response) {
+                try {
+                    filter.doFilter(request("/products/2"), overflow, new MockFilterChain());
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        };
+
+        filter.doFilter(request("/products/1"), new MockHttpServletResponse(), chainHoldingPermit);
+
+        assertEquals(503, overflow.getStatus());
+        assertEquals("1", overflow.getHeader(HttpHeaders.RETRY_AFTER));
+        assertEquals(1, meterRegistry.get("catalog.requests.rejected").counter().count());
+    }
+
+    @Test
+    @DisplayName("Concurrency limit - Actuator endpoints are never held back")
+    void actuatorRequest_notLimited() throws Exception {
+        RequestConcurrencyFilter closedFilter = new RequestConcurrencyFilter(0, Duration.ofMillis(10), meterRegistry);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        closedFilter.doFilter(request("/actuator/health"), response, new MockFilterChain());
+
+        assertEquals(200, response.getStatus());
+    }
+
+    private static MockHttpServletRequest request(String servletPath) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/catalog" + servletPath);
+        request.setContextPath("/catalog");
+        request.setServletPath(servletPath);
+        return request;
+    }
+}
@@ -1,9 +1,11 @@
 package com.gftworkshopcatalog.controllers;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gftworkshopcatalog.api.dto.ProductSuggestionDTO;
 import com.gftworkshopcatalog.exceptions.*;
 import com.gftworkshopcatalog.model.CategoryEntity;
 import com.gftworkshopcatalog.model.ProductEntity;
+import com.gftworkshopcatalog.repositories.CollectionVersion;
 import com.gftworkshopcatalog.services.impl.CategoryServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -11,6 +13,7 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -25,6 +28,7 @@ import static org.hamcrest.Matchers.hasSize;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -46,6 +50,7 @@ class CategoryEntityControllerTest {
                 .setMessageConverters(new MappingJackson2HttpMessageConverter(objectMapper))
                 .setControllerAdvice(new GlobalExceptionHandler())
                 .build();
+        when(categoryService.getCategoriesVersion()).thenReturn(new CollectionVersion(2, 0, 3));
     }
 
     @Test
@@ -58,6 +63,7 @@ class CategoryEntityControllerTest {
             mockMvc.perform(get("/categories")
                 .accept(MediaType.APPLICATION_JSON))
                     .andExpect(status().isOk())
+                    .andExpect(header().string(HttpHeaders.ETAG, "\"2-0-3\""))
                     .andExpect(jsonPath("$", hasSize(2)))
                     .andExpect(jsonPath("$[0].categoryId").value(mockCategoryEntities.get(0).getCategoryId()))
                     .andExpect(jsonPath("$[0].name").value(mockCategoryEntities.get(0).getName()))
@@ -66,6 +72,17 @@ class CategoryEntityControllerTest {
         verify(categoryService).getAllCategories();
     }
 
+    @Test
+    @DisplayName("List all Categories - Not modified without loading the categories")
+    void listAllCategories_NotModified() throws Exception {
+        mockMvc.perform(get("/categories")
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"2-0-3\"")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"2-0-3\""));
+        verify(categoryService, never()).getAllCategories();
+    }
+
     @Test
     @DisplayName("List all Categories - InternalServiceException")
     void listAllPromotions_Failure() throws Exception {
@@ -223,8 +240,35 @@ class CategoryEntityControllerTest {
         verify(categoryService).findProductsByCategoryIdAndName(categoryId, name);
     }
 
+    @Test
+    @DisplayName("Suggest product names - Success")
+    void test_suggestProductNames() throws Exception {
+        List<ProductSuggestionDTO> suggestions = List.of(
+                new ProductSuggestionDTO(20L, "Puzzle"),
+                new ProductSuggestionDTO(21L, "Puzzle 3D"));
+        when(categoryService.suggestProductNames(2L, "puz", 10)).thenReturn(suggestions);
+
+        mockMvc.perform(get("/categories/{categoryId}/products/typeahead", 2L)
+                        .param("prefix", "puz")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].productId").value(20))
+                .andExpect(jsonPath("$[1].name").value("Puzzle 3D"));
 
-}
-
+        verify(categoryService).suggestProductNames(2L, "puz", 10);
+    }
 
+    @Test
+    @DisplayName("Suggest product names - Invalid limit")
+    void test_suggestProductNames_BadRequest() throws Exception {
+        when(categoryService.suggestProductNames(2L, "puz", 0)).thenThrow(new BadRequest("Limit must be between 1 and 50"));
 
+        mockMvc.perform(get("/categories/{categoryId}/products/typeahead", 2L)
+                        .param("prefix", "puz")
+                        .param("limit", "0")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Limit must be between 1 and 50"));
+    }
+}
@@ -1,8 +1,17 @@
 package com.gftworkshopcatalog.controllers;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.gftworkshopcatalog.api.dto.CartProductDTO;
+import com.gftworkshopcatalog.api.dto.ProductImportErrorDTO;
+import com.gftworkshopcatalog.api.dto.ProductImportResultDTO;
+import com.gftworkshopcatalog.api.dto.ProductPageDTO;
+import com.gftworkshopcatalog.api.dto.ProductSearchHitDTO;
+import com.gftworkshopcatalog.api.dto.ProductSearchPageDTO;
+import com.gftworkshopcatalog.api.dto.StockReservationDTO;
+import com.gftworkshopcatalog.api.dto.StockReservationResultDTO;
 import com.gftworkshopcatalog.exceptions.*;
 import com.gftworkshopcatalog.model.ProductEntity;
+import com.gftworkshopcatalog.services.ProductImportService;
 import com.gftworkshopcatalog.services.impl.ProductServiceImpl;
 import jakarta.persistence.EntityNotFoundException;
 import org.hibernate.service.spi.ServiceException;
@@ -12,22 +21,29 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
 import org.springframework.dao.DataAccessException;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.ByteArrayOutputStream;
 import java.math.BigDecimal;
 import java.util.Arrays;
 import java.util.List;
+import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -35,6 +51,10 @@ class ProductEntityControllerTest {
     private MockMvc mockMvc;
     @Mock
     private ProductServiceImpl productServiceImpl;
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+    @Mock
+    private ProductImportService productImportService;
     @InjectMocks
     private ProductController productController;
     @BeforeEach
@@ -67,6 +87,99 @@ class ProductEntityControllerTest {
                 .andExpect(jsonPath("$.message").value("Database access failed"));
     }
     @Test
+    @DisplayName("Find products page - Success")
+    void test_listProductsPage(){
+        ProductEntity productEntity = new ProductEntity(2L,"Building Blocks", "Agent word occur number chair.", 7.89, 2L, 1.41, 25, 5);
+        ProductPageDTO page = new ProductPageDTO(List.of(productEntity), 2L);
+        when(productServiceImpl.findProductsPage(1L, 1)).thenReturn(page);
+
+        ResponseEntity<ProductPageDTO> responseEntity = productController.listProductsPage(1L, 1);
+
+        assertEquals(page, responseEntity.getBody());
+        assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
+    }
+    @Test
+    @DisplayName("Find products page - Invalid page size")
+    void test_listProductsPage_BadRequest() throws Exception{
+        when(productServiceImpl.findProductsPage(null, 0)).thenThrow(new BadRequest("Page size must be between 1 and 1000"));
+
+        mockMvc.perform(get("/products/page").param("size", "0"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Page size must be between 1 and 1000"));
+    }
+    @Test
+    @DisplayName("Search products - Success")
+    void test_searchProducts() throws Exception{
+        ProductEntity productEntity = new ProductEntity(8L,"Puzzle", "Agree go rock over.", 51.44, 2L, 3.1, 89, 15);
+        ProductSearchPageDTO results = new ProductSearchPageDTO(List.of(new ProductSearchHitDTO(productEntity, 2.5)), 1, 0, 20);
+        when(productServiceImpl.searchProducts("rock", 2L, null, 60.0, 0, 20)).thenReturn(results);
+
+        mockMvc.perform(get("/products/search").param("q", "rock").param("categoryId", "2").param("maxPrice", "60"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(1))
+                .andExpect(jsonPath("$.items[0].product.name").value("Puzzle"))
+                .andExpect(jsonPath("$.items[0].score").value(2.5));
+    }
+    @Test
+    @DisplayName("Search products - Invalid price range")
+    void test_searchProducts_BadRequest() throws Exception{
+        when(productServiceImpl.searchProducts("rock", null, 50.0, 10.0, 0, 20))
+                .thenThrow(new BadRequest("Minimum price must not be greater than maximum price"));
+
+        mockMvc.perform(get("/products/search").param("q", "rock").param("minPrice", "50").param("maxPrice", "10"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Minimum price must not be greater than maximum price"));
+    }
+    @Test
+    @DisplayName("Import products - CSV body reported row by row")
+    void test_importProducts_Csv() throws Exception{
+        ProductImportResultDTO result = new ProductImportResultDTO(1, 1, List.of(new ProductImportErrorDTO(2, "Category not found with ID: 99")));
+        when(productImportService.importProducts(any(), eq(ProductImportService.Format.CSV))).thenReturn(result);
+
+        mockMvc.perform(post("/products/import")
+                        .contentType("text/csv")
+                        .content("name,price,categoryId,weight,currentStock,minStock\nKite,12.5,2,0.4,10,2\nKite,12.5,99,0.4,10,2\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(1))
+                .andExpect(jsonPath("$.failed").value(1))
+                .andExpect(jsonPath("$.errors[0].row").value(2));
+    }
+    @Test
+    @DisplayName("Import products - NDJSON body")
+    void test_importProducts_Ndjson() throws Exception{
+        when(productImportService.importProducts(any(), eq(ProductImportService.Format.NDJSON)))
+                .thenReturn(new ProductImportResultDTO(1, 0, List.of()));
+
+        mockMvc.perform(post("/products/import")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content("{\"name\":\"Kite\",\"price\":12.5,\"categoryId\":2,\"weight\":0.4,\"currentStock\":10,\"minStock\":2}\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(1));
+    }
+    @Test
+    @DisplayName("Stream all products - One JSON document per line")
+    @SuppressWarnings("unchecked")
+    void test_streamAllProducts() throws Exception{
+        ProductEntity productEntity1 = new ProductEntity(1L, "Jacket","Something indicate large central measure watch provide.", 58.79, 1L, 3.71, 26, 10);
+        ProductEntity productEntity2 = new ProductEntity(2L,"Building Blocks", "Agent word occur number chair.", 7.89, 2L, 1.41, 25, 5);
+        doAnswer(invocation -> {
+            Consumer<ProductEntity> consumer = invocation.getArgument(0);
+            consumer.accept(productEntity1);
+            consumer.accept(productEntity2);
+            return null;
+        }).when(productServiceImpl).streamAllProducts(any(Consumer.class));
+
+        ResponseEntity<StreamingResponseBody> responseEntity = productController.streamAllProducts();
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        responseEntity.getBody().writeTo(outputStream);
+
+        String[] lines = outputStream.toString().split("\n");
+        assertEquals(MediaType.APPLICATION_NDJSON, responseEntity.getHeaders().getContentType());
+        assertEquals(2, lines.length);
+        assertEquals(productEntity1, objectMapper.readValue(lines[0], ProductEntity.class));
+        assertEquals(productEntity2, objectMapper.readValue(lines[1], ProductEntity.class));
+    }
+    @Test
     @DisplayName("Add a new product - Success")
     void test_addNewProduct(){
         ProductEntity newProduct = new ProductEntity(null, "New Product", "Description", 99.99, 1L, 1.5, 100, 10);
@@ -126,6 +239,7 @@ class ProductEntityControllerTest {
     void testGetProductDetails_Success() {
         long productId = 1L;
         ProductEntity foundProduct = new ProductEntity(productId, "Test Product", "Description", 50.00, 1L, 1.0, 100, 10);
+        foundProduct.setEffectivePrice(45.00);
         when(productServiceImpl.findProductById(productId)).thenReturn(foundProduct);
 
         ResponseEntity<ProductEntity> response = productController.getProductDetails(productId);
@@ -134,6 +248,7 @@ class ProductEntityControllerTest {
         assertNotNull(response.getBody());
         assertEquals(productId, response.getBody().getId());
         assertEquals("Test Product", response.getBody().getName());
+        assertEquals("\"0-45.0\"", response.getHeaders().getETag());
     }
 
     @Test
@@ -165,9 +280,9 @@ class ProductEntityControllerTest {
         ProductEntity productToUpdate = new ProductEntity(productId, "Updated Product", "Updated Description", 55.55, 1L, 1.0, 100, 10);
         ProductEntity updatedProduct = new ProductEntity(productId, "Updated Product", "Updated Description", 55.55, 1L, 1.0, 100, 10);
 
-        when(productServiceImpl.updateProduct(productId, productToUpdate)).thenReturn(updatedProduct);
+        when(productServiceImpl.updateProduct(productId, productToUpdate, null)).thenReturn(updatedProduct);
 
-        ResponseEntity<ProductEntity> response = productController.updateProduct(productId, productToUpdate);
+        ResponseEntity<ProductEntity> response = productController.updateProduct(productId, null, productToUpdate);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
@@ -175,14 +290,37 @@ class ProductEntityControllerTest {
         assertEquals("Updated Product", response.getBody().getName());
     }
     @Test
+    @DisplayName("Update a product - If-Match carries the expected version")
+    void test_updateProduct_IfMatch(){
+        Long productId = 1L;
+        ProductEntity productToUpdate = new ProductEntity(productId, "Updated Product", "Updated Description", 55.55, 1L, 1.0, 100, 10);
+        ProductEntity updatedProduct = productToUpdate.toBuilder().version(4L).effectivePrice(55.55).build();
+
+        when(productServiceImpl.updateProduct(productId, productToUpdate, 3L)).thenReturn(updatedProduct);
+
+        ResponseEntity<ProductEntity> response = productController.updateProduct(productId, "\"3-55.55\"", productToUpdate);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("\"4-55.55\"", response.getHeaders().getETag());
+    }
+    @Test
+    @DisplayName("Update a product - Unreadable If-Match")
+    void test_updateProduct_InvalidIfMatch(){
+        Long productId = 1L;
+        ProductEntity productToUpdate = new ProductEntity(productId, "Updated Product", "Updated Description", 55.55, 1L, 1.0, 100, 10);
+
+        assertThrows(BadRequest.class, () -> productController.updateProduct(productId, "\"latest\"", productToUpdate));
+        verifyNoInteractions(productServiceImpl);
+    }
+    @Test
     @DisplayName("Update product - Product Not Found")
     void testUpdateProduct_ProductNotFound() {
         Long productId = 1L;
         ProductEntity productToUpdate = new ProductEntity(productId, "Updated Product", "Updated Description", 55.55, 1L, 1.0, 100, 10);
 
-        when(productServiceImpl.updateProduct(productId, productToUpdate)).thenThrow(new NotFoundProduct("Product not found with ID: " + productId));
+        when(productServiceImpl.updateProduct(productId, productToUpdate, null)).thenThrow(new NotFoundProduct("Product not found with ID: " + productId));
 
-        NotFoundProduct exception = assertThrows(NotFoundProduct.class, () -> productController.updateProduct(productId, productToUpdate));
+        NotFoundProduct exception = assertThrows(NotFoundProduct.class, () -> productController.updateProduct(productId, null, productToUpdate));
 
         assertNotNull(exception);
         assertEquals("Product not found with ID: " + productId, exception.getMessage());
@@ -194,9 +332,9 @@ class ProductEntityControllerTest {
         Long productId = 1L;
         ProductEntity productToUpdate = new ProductEntity(productId, "Updated Product", "Updated Description", 55.55, 1L, 1.0, 100, 10);
 
-        when(productServiceImpl.updateProduct(productId, productToUpdate)).thenThrow(new DatabaseException("Database access failed"));
+        when(productServiceImpl.updateProduct(productId, productToUpdate, null)).thenThrow(new DatabaseException("Database access failed"));
 
-        DatabaseException exception = assertThrows(DatabaseException.class, () -> productController.updateProduct(productId, productToUpdate));
+        DatabaseException exception = assertThrows(DatabaseException.class, () -> productController.updateProduct(productId, null, productToUpdate));
 
         assertNotNull(exception);
         assertEquals("Database access failed", exception.getMessage());
@@ -245,9 +383,9 @@ class ProductEntityControllerTest {
         updatedProductEntity.setId(productId);
         updatedProductEntity.setPrice(newPrice);
 
-        when(productServiceImpl.updateProductPrice(productId, newPrice)).thenReturn(updatedProductEntity);
+        when(productServiceImpl.updateProductPrice(productId, newPrice, null)).thenReturn(updatedProductEntity);
 
-        ResponseEntity<?> response = productController.updateProductPrice(productId, newPrice);
+        ResponseEntity<?> response = productController.updateProductPrice(productId, null, newPrice);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertSame(updatedProductEntity, response.getBody());
@@ -257,10 +395,10 @@ class ProductEntityControllerTest {
     void testUpdateProductPrice_NotFound() {
         long productId = 1L;
         double newPrice = 299.99;
-        when(productServiceImpl.updateProductPrice(productId, newPrice)).thenThrow(new NotFoundProduct("Product not found with ID: " + productId));
+        when(productServiceImpl.updateProductPrice(productId, newPrice, null)).thenThrow(new NotFoundProduct("Product not found with ID: " + productId));
 
         NotFoundProduct exception = assertThrows(NotFoundProduct.class,
-                () -> productController.updateProductPrice(productId, newPrice),
+                () -> productController.updateProductPrice(productId, null, newPrice),
                 "Expected to throw, but it did not");
 
         assertNotNull(exception);
@@ -271,10 +409,10 @@ class ProductEntityControllerTest {
     void testUpdateProductPrice_InternalServerError() {
         long productId = 1L;
         double newPrice = 299.99;
-        when(productServiceImpl.updateProductPrice(productId, newPrice)).thenThrow(new DatabaseException("Database access failed"));
+        when(productServiceImpl.updateProductPrice(productId, newPrice, null)).thenThrow(new DatabaseException("Database access failed"));
 
         DatabaseException exception = assertThrows(DatabaseException.class,
-                () -> productController.updateProductPrice(productId, newPrice),
+                () -> productController.updateProductPrice(productId, null, newPrice),
                 "Expected to throw, but it did not");
 
         assertNotNull(exception);
@@ -451,6 +589,19 @@ class ProductEntityControllerTest {
         assertEquals(500.0, response.getBody().get(1).getPrice());
     }
 
+    @Test
+    @DisplayName("Reserve stock of several products - Success")
+    void testReserveProductsStock_Success() {
+        List<StockReservationDTO> reservations = List.of(new StockReservationDTO(1L, -2), new StockReservationDTO(2L, -3));
+        List<StockReservationResultDTO> results = List.of(new StockReservationResultDTO(1L, -2, 24), new StockReservationResultDTO(2L, -3, 22));
+        when(productServiceImpl.reserveStock(reservations)).thenReturn(results);
+
+        ResponseEntity<List<StockReservationResultDTO>> response = productController.reserveProductsStock(reservations);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(results, response.getBody());
+    }
+
     @Test
     @DisplayName("Get total price at checkout - NotFoundProduct")
     void testGetPriceProductCheckoutV2_ProductNotFound() {
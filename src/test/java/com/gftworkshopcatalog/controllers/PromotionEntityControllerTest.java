@@ -10,6 +10,7 @@ import com.gftworkshopcatalog.exceptions.GlobalExceptionHandler;
 import com.gftworkshopcatalog.exceptions.InternalServiceException;
 import com.gftworkshopcatalog.exceptions.NotFoundPromotion;
 import com.gftworkshopcatalog.model.PromotionEntity;
+import com.gftworkshopcatalog.repositories.CollectionVersion;
 import com.gftworkshopcatalog.services.impl.PromotionServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -17,6 +18,7 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
 import org.springframework.test.web.servlet.MockMvc;
@@ -33,6 +35,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -59,6 +62,7 @@ class PromotionEntityControllerTest {
                 .setMessageConverters(new MappingJackson2HttpMessageConverter(objectMapper))
                 .setControllerAdvice(new GlobalExceptionHandler())
                 .build();
+        when(promotionService.findPromotionsVersion()).thenReturn(new CollectionVersion(2, 5, 3));
     }
     @Test
     @DisplayName("Tests Jackson Config Class")
@@ -85,6 +89,7 @@ class PromotionEntityControllerTest {
         mockMvc.perform(get("/promotions")
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"2-5-3\""))
                 .andExpect(jsonPath("$", hasSize(2)))
                 .andExpect(jsonPath("$[0].promotionId").value(promotions.get(0).getPromotionId()))
                 .andExpect(jsonPath("$[0].categoryId").value(promotions.get(0).getCategoryId()))
@@ -105,6 +110,15 @@ class PromotionEntityControllerTest {
         verify(promotionService).findAllPromotions();
     }
     @Test
+    @DisplayName("List all promotions - Not modified without loading the promotions")
+    void listAllPromotions_NotModified() throws Exception {
+        mockMvc.perform(get("/promotions")
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"2-5-3\"")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotModified());
+        verify(promotionService, never()).findAllPromotions();
+    }
+    @Test
     @DisplayName("List all promotions - InternalServiceException")
     void listAllPromotions_Failure() throws Exception {
         when(promotionService.findAllPromotions()).thenThrow(new InternalServiceException("Database error"));
@@ -193,6 +207,7 @@ class PromotionEntityControllerTest {
 
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"0\""))
                 .andExpect(jsonPath("$.promotionId").value(promotion.getPromotionId()))
                 .andExpect(jsonPath("$.categoryId").value(promotion.getCategoryId()))
                 .andExpect(jsonPath("$.discount").value(promotion.getDiscount()))
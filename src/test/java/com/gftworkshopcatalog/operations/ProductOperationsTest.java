@@ -0,0 +1,85 @@
+package com.gftworkshopcatalog.operations;
+
+import com.gftworkshopcatalog.model.PromotionEntity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductOperationsTest {
+
+    private PromotionEntity seasonalPromotion;
+    private PromotionEntity volumePromotion;
+
+    @BeforeEach
+    void setUp() {
+        LocalDate today = LocalDate.now();
+        seasonalPromotion = new PromotionEntity(1L, 1L, 0.15, "SEASONAL", 1, today, today.plusDays(5), true);
+        volumePromotion = new PromotionEntity(2L, 1L, 0.20, "VOLUME", 5, today, today.plusDays(5), true);
+    }
+
+    @Test
+    @DisplayName("Price cart lines - Same totals as pricing each line through the entities")
+    void priceCartLines_matchesEntityPricing() {
+        double[] prices = {19.99, 65.0, 100.0, 7.35};
+        double[] weights = {0.5, 3.71, 1.25, 2.0};
+        int[] quantities = {1, 5, 12, 4};
+        int[] categorySlots = {0, 0, 1, 2};
+        CartLines lines = new CartLines(prices.length);
+        for (int line = 0; line < prices.length; line++) {
+            lines.set(line, prices[line], weights[line], quantities[line], categorySlots[line]);
+        }
+        CategoryDiscounts discounts = new CategoryDiscounts(3);
+        discounts.setSeasonalPromotion(0, seasonalPromotion);
+        discounts.setVolumePromotion(0, volumePromotion);
+        discounts.setVolumePromotion(1, volumePromotion);
+        discounts.setVolumePromotion(2, seasonalPromotion);
+
+        ProductOperations.priceCartLines(lines, discounts);
+
+        PromotionEntity[] seasonalBySlot = {seasonalPromotion, null, null};
+        PromotionEntity[] volumeBySlot = {volumePromotion, volumePromotion, null};
+        for (int line = 0; line < prices.length; line++) {
+            int slot = categorySlots[line];
+            double unitPrice = ProductOperations.calculateEffectivePrice(prices[line], seasonalBySlot[slot]);
+            if (volumeBySlot[slot] != null) {
+                unitPrice = ProductOperations.calculateNewPrice(unitPrice, volumeBySlot[slot], quantities[line]);
+            }
+            assertEquals(unitPrice * quantities[line], lines.totalPrice(line), "Line " + line);
+            assertEquals(weights[line] * quantities[line], lines.totalWeight(line), "Line " + line);
+        }
+    }
+
+    @Test
+    @DisplayName("Price cart lines - Seasonal and volume discounts of one category both apply")
+    void priceCartLines_seasonalAndVolumeDiscounts() {
+        CartLines lines = new CartLines(2);
+        lines.set(0, 100.0, 1.0, 5, 0);
+        lines.set(1, 100.0, 1.0, 3, 0);
+        CategoryDiscounts discounts = new CategoryDiscounts(1);
+        discounts.setSeasonalPromotion(0, new PromotionEntity(3L, 1L, 0.10, "SEASONAL", 1, LocalDate.now(), LocalDate.now(), true));
+        discounts.setVolumePromotion(0, volumePromotion);
+
+        ProductOperations.priceCartLines(lines, discounts);
+
+        assertEquals(360.0, lines.totalPrice(0));
+        assertEquals(270.0, lines.totalPrice(1));
+    }
+
+    @Test
+    @DisplayName("Price cart lines - Inactive volume promotion is ignored")
+    void priceCartLines_inactiveVolumePromotion() {
+        volumePromotion.setIsActive(false);
+        CartLines lines = new CartLines(1);
+        lines.set(0, 100.0, 1.0, 10, 0);
+        CategoryDiscounts discounts = new CategoryDiscounts(1);
+        discounts.setVolumePromotion(0, volumePromotion);
+
+        ProductOperations.priceCartLines(lines, discounts);
+
+        assertEquals(1000.0, lines.totalPrice(0));
+    }
+}
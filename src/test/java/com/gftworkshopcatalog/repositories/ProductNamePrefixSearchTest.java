@@ -0,0 +1,28 @@
+package com.gftworkshopcatalog.repositories;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:productNamePrefixSearch")
+class ProductNamePrefixSearchTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Name prefix search - Served by a range scan on the category and normalized name index")
+    void namePrefixSearch_usesCompositeIndex() {
+        String plan = jdbcTemplate.queryForObject(
+                "EXPLAIN SELECT * FROM products WHERE category_id = ? AND name_normalized LIKE ? ESCAPE '\\'",
+                String.class, 2L, "puz%");
+
+        assertTrue(plan.contains("IDX_PRODUCTS_CATEGORY_NAME_NORMALIZED: CATEGORY_ID = ?1"), plan);
+        assertTrue(plan.contains("NAME_NORMALIZED >= 'puz'"), plan);
+        assertTrue(plan.contains("NAME_NORMALIZED < 'pu{'"), plan);
+    }
+}
@@ -0,0 +1,124 @@
+package com.gftworkshopcatalog.scheduling;
+
+import com.gftworkshopcatalog.cache.ActivePromotionIndex;
+import com.gftworkshopcatalog.model.PromotionEntity;
+import com.gftworkshopcatalog.repositories.PromotionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.scheduling.TaskScheduler;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+class PromotionLifecycleSchedulerTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2024, 6, 10);
+
+    @Mock
+    private PromotionRepository promotionRepository;
+    @Mock
+    private ActivePromotionIndex activePromotionIndex;
+    @Mock
+    private TaskScheduler taskScheduler;
+    @Mock
+    private Clock clock;
+
+    private PromotionLifecycleScheduler promotionLifecycleScheduler;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(clock.getZone()).thenReturn(ZoneOffset.UTC);
+        setToday(TODAY);
+        promotionLifecycleScheduler = new PromotionLifecycleScheduler(promotionRepository, activePromotionIndex, taskScheduler, clock);
+    }
+
+    @Test
+    @DisplayName("Load transitions - Stale flags fixed in bulk and next boundary scheduled")
+    void loadTransitions_schedulesEarliestBoundary() {
+        PromotionEntity running = new PromotionEntity(1L, 1L, 0.20, "VOLUME", 5, TODAY.minusDays(5), TODAY.plusDays(10), true);
+        PromotionEntity upcoming = new PromotionEntity(2L, 2L, 0.10, "SEASONAL", 1, TODAY.plusDays(3), TODAY.plusDays(30), false);
+        when(promotionRepository.activateStartedPromotions(TODAY)).thenReturn(1);
+        when(promotionRepository.findByEndDateGreaterThanEqual(TODAY)).thenReturn(List.of(running, upcoming));
+
+        promotionLifecycleScheduler.loadTransitions();
+
+        verify(promotionRepository, never()).findAll();
+        verify(activePromotionIndex).refresh();
+        verify(taskScheduler).schedule(any(Runnable.class), eq(startOf(TODAY.plusDays(3))));
+    }
+
+    @Test
+    @DisplayName("Run due transitions - Only promotions at their boundary are updated")
+    void runDueTransitions_updatesOnlyDuePromotions() {
+        PromotionEntity ending = new PromotionEntity(1L, 1L, 0.20, "VOLUME", 5, TODAY.minusDays(5), TODAY, true);
+        PromotionEntity starting = new PromotionEntity(2L, 2L, 0.10, "SEASONAL", 1, TODAY.plusDays(1), TODAY.plusDays(30), false);
+        PromotionEntity later = new PromotionEntity(3L, 3L, 0.05, "SEASONAL", 1, TODAY.plusDays(7), TODAY.plusDays(30), false);
+        when(promotionRepository.findByEndDateGreaterThanEqual(TODAY)).thenReturn(List.of(ending, starting, later));
+        promotionLifecycleScheduler.loadTransitions();
+        Runnable nextRun = scheduledTask(startOf(TODAY.plusDays(1)));
+
+        setToday(TODAY.plusDays(1));
+        nextRun.run();
+
+        verify(promotionRepository).updateActiveStatus(List.of(2L), true);
+        verify(promotionRepository).updateActiveStatus(List.of(1L), false);
+        verify(activePromotionIndex).refresh();
+        verify(taskScheduler).schedule(any(Runnable.class), eq(startOf(TODAY.plusDays(7))));
+    }
+
+    @Test
+    @DisplayName("Track - A written promotion with a stale flag is fixed right away")
+    void track_staleFlagFixedImmediately() {
+        PromotionEntity promotion = new PromotionEntity(4L, 1L, 0.20, "VOLUME", 5, TODAY.minusDays(1), TODAY.plusDays(1), false);
+
+        promotionLifecycleScheduler.track(promotion);
+        scheduledTask(startOf(TODAY)).run();
+
+        verify(promotionRepository).updateActiveStatus(List.of(4L), true);
+        verify(taskScheduler).schedule(any(Runnable.class), eq(startOf(TODAY.plusDays(2))));
+    }
+
+    @Test
+    @DisplayName("Untrack - Deleted promotions are never updated")
+    void untrack_dropsPendingTransitions() {
+        PromotionEntity promotion = new PromotionEntity(5L, 1L, 0.20, "VOLUME", 5, TODAY.plusDays(1), TODAY.plusDays(2), false);
+        promotionLifecycleScheduler.track(promotion);
+        Runnable nextRun = scheduledTask(startOf(TODAY.plusDays(1)));
+
+        promotionLifecycleScheduler.untrack(5L);
+        setToday(TODAY.plusDays(1));
+        nextRun.run();
+
+        verify(promotionRepository, never()).updateActiveStatus(anyCollection(), anyBoolean());
+        verify(activePromotionIndex, never()).refresh();
+    }
+
+    private Runnable scheduledTask(Instant startTime) {
+        ArgumentCaptor<Runnable> task = ArgumentCaptor.forClass(Runnable.class);
+        verify(taskScheduler).schedule(task.capture(), eq(startTime));
+        assertEquals(1, task.getAllValues().size());
+        return task.getValue();
+    }
+
+    private void setToday(LocalDate day) {
+        when(clock.instant()).thenReturn(startOf(day));
+    }
+
+    private static Instant startOf(LocalDate day) {
+        return day.atStartOfDay().toInstant(ZoneOffset.UTC);
+    }
+}
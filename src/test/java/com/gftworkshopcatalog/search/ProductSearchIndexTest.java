@@ -0,0 +1,128 @@
+package com.gftworkshopcatalog.search;
+
+import com.gftworkshopcatalog.cache.ActivePromotionIndex;
+import com.gftworkshopcatalog.model.ProductEntity;
+import com.gftworkshopcatalog.model.PromotionEntity;
+import com.gftworkshopcatalog.repositories.ProductRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+class ProductSearchIndexTest {
+
+    @Mock
+    private ProductRepository productRepository;
+    @Mock
+    private ActivePromotionIndex activePromotionIndex;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ProductSearchIndex productSearchIndex;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(productRepository.findByIdGreaterThanOrderByIdAsc(anyLong(), any(Limit.class))).thenReturn(List.of());
+        when(productRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(1000))).thenReturn(List.of(
+                product(1L, "Football", "Leather ball for the park.", 21.93, 3L),
+                product(2L, "Puzzle", "A thousand pieces with a football stadium.", 51.44, 2L),
+                product(3L, "Canción de cuna", "Libro de música para niños.", 12.0, 5L),
+                product(4L, "Football", "Official match ball.", 46.7, 3L)));
+        when(activePromotionIndex.currentSnapshot()).thenReturn(new ActivePromotionIndex.Snapshot(Map.of(), LocalDate.MAX));
+        meterRegistry = new SimpleMeterRegistry();
+        productSearchIndex = new ProductSearchIndex(productRepository, activePromotionIndex, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Search - Name matches rank above description matches, shorter documents first")
+    void search_rankedByRelevance() {
+        ProductSearchIndex.Result result = productSearchIndex.search("FOOTBALL", null, null, null, 0, 10);
+
+        assertEquals(3, result.total());
+        assertEquals(List.of(4L, 1L, 2L), result.hits().stream().map(ProductSearchIndex.Hit::productId).toList());
+        assertTrue(result.hits().get(1).score() > result.hits().get(2).score());
+        assertEquals(1, meterRegistry.get("catalog.search.query").timer().count());
+    }
+
+    @Test
+    @DisplayName("Search - Category and price filters with pagination")
+    void search_filteredAndPaged() {
+        ProductSearchIndex.Result filtered = productSearchIndex.search("football ball", 3L, 30.0, 50.0, 0, 10);
+        ProductSearchIndex.Result secondPage = productSearchIndex.search("football", null, null, null, 1, 1);
+
+        assertEquals(List.of(4L), filtered.hits().stream().map(ProductSearchIndex.Hit::productId).toList());
+        assertEquals(1, filtered.total());
+        assertEquals(List.of(1L), secondPage.hits().stream().map(ProductSearchIndex.Hit::productId).toList());
+        assertEquals(3, secondPage.total());
+    }
+
+    @Test
+    @DisplayName("Search - Price range applies to the effective price")
+    void search_priceRangeOnEffectivePrice() {
+        PromotionEntity seasonalPromotion = new PromotionEntity(1L, 3L, 0.5, "SEASONAL", 1, LocalDate.now(), LocalDate.now(), true);
+        when(activePromotionIndex.currentSnapshot())
+                .thenReturn(new ActivePromotionIndex.Snapshot(Map.of(3L, List.of(seasonalPromotion)), LocalDate.MAX));
+
+        ProductSearchIndex.Result result = productSearchIndex.search("football", null, 10.0, 25.0, 0, 10);
+
+        assertEquals(List.of(4L, 1L), result.hits().stream().map(ProductSearchIndex.Hit::productId).toList());
+        verify(activePromotionIndex, times(1)).currentSnapshot();
+    }
+
+    @Test
+    @DisplayName("Search - Accents and case are folded")
+    void search_foldsAccents() {
+        assertEquals(List.of(3L), productSearchIndex.search("cancion MUSICA", null, null, null, 0, 10).hits().stream()
+                .map(ProductSearchIndex.Hit::productId).toList());
+        assertEquals(Map.of("ninos", 1, "cuna", 2), ProductSearchIndex.tokenize("Niños, cuna & CUNA"));
+    }
+
+    @Test
+    @DisplayName("Put and remove - Applied without reloading")
+    void putAndRemove_updateIncrementally() {
+        productSearchIndex.rebuild();
+
+        productSearchIndex.put(product(2L, "Puzzle", "A thousand pieces with a castle.", 51.44, 2L));
+        productSearchIndex.put(product(5L, "Football boots", "Studs for grass.", 80.0, 3L));
+        productSearchIndex.remove(1L);
+
+        assertEquals(List.of(4L, 5L), productSearchIndex.search("football", null, null, null, 0, 10).hits().stream()
+                .map(ProductSearchIndex.Hit::productId).toList());
+        assertEquals(List.of(2L), productSearchIndex.search("castle", null, null, null, 0, 10).hits().stream()
+                .map(ProductSearchIndex.Hit::productId).toList());
+        verify(productRepository, times(1)).findByIdGreaterThanOrderByIdAsc(0L, Limit.of(1000));
+    }
+
+    @Test
+    @DisplayName("Rebuild - Writes made while the table is read are not lost")
+    void rebuild_replaysConcurrentWrites() {
+        when(productRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(1000))).thenAnswer(invocation -> {
+            productSearchIndex.put(product(5L, "Football boots", "Studs for grass.", 80.0, 3L));
+            productSearchIndex.remove(1L);
+            return List.of(
+                    product(1L, "Football", "Leather ball for the park.", 21.93, 3L),
+                    product(4L, "Football", "Official match ball.", 46.7, 3L));
+        });
+
+        productSearchIndex.rebuild();
+
+        assertEquals(List.of(4L, 5L), productSearchIndex.search("football", null, null, null, 0, 10).hits().stream()
+                .map(ProductSearchIndex.Hit::productId).toList());
+    }
+
+    private static ProductEntity product(Long id, String name, String description, Double price, Long categoryId) {
+        return new ProductEntity(id, name, description, price, categoryId, 1.0, 10, 1);
+    }
+}
@@ -0,0 +1,86 @@
+package com.gftworkshopcatalog.services;
+
+import com.gftworkshopcatalog.api.dto.CartProductDTO;
+import com.gftworkshopcatalog.cache.ProductCache;
+import com.gftworkshopcatalog.model.ProductEntity;
+import com.gftworkshopcatalog.services.impl.ProductServiceImpl;
+import com.gftworkshopcatalog.startup.CatalogWarmup;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:cartPricingRoundTrip",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class CartPricingRoundTripTest {
+
+    @Autowired
+    private ProductServiceImpl productServiceImpl;
+
+    @Autowired
+    private ProductCache productCache;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CatalogWarmup catalogWarmup;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() throws InterruptedException {
+        awaitWarmup();
+        productServiceImpl.calculateListDiscountedPrice(cart(1));
+        productCache.clear();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    @DisplayName("Calculate discounted prices - Round trips on a cold cache do not grow with cart size")
+    void calculateListDiscountedPrice_constantRoundTrips() {
+        List<ProductEntity> singleLine = productServiceImpl.calculateListDiscountedPrice(cart(1));
+        long singleLineStatements = statistics.getPrepareStatementCount();
+        productCache.clear();
+        statistics.clear();
+
+        List<ProductEntity> fullCart = productServiceImpl.calculateListDiscountedPrice(cart(40));
+        long fullCartStatements = statistics.getPrepareStatementCount();
+
+        assertEquals(1, singleLine.size());
+        assertEquals(40, fullCart.size());
+        assertEquals(1, singleLineStatements, "Only the product query is expected, promotions come from the index");
+        assertEquals(singleLineStatements, fullCartStatements, "Query count must not depend on the number of cart lines");
+    }
+
+    private void awaitWarmup() throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(30).toNanos();
+        while (!catalogWarmup.isCompleted() && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+        }
+        assertTrue(catalogWarmup.isCompleted(), "Warmup queries would be counted as cart pricing round trips");
+    }
+
+    private List<CartProductDTO> cart(int lines) {
+        return LongStream.rangeClosed(1, lines)
+                .mapToObj(productId -> CartProductDTO.builder()
+                        .productId(productId)
+                        .quantity(5)
+                        .build())
+                .toList();
+    }
+}
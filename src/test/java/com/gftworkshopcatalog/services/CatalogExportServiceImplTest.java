@@ -0,0 +1,77 @@
+package com.gftworkshopcatalog.services;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.gftworkshopcatalog.model.CategoryEntity;
+import com.gftworkshopcatalog.model.ProductEntity;
+import com.gftworkshopcatalog.model.PromotionEntity;
+import com.gftworkshopcatalog.repositories.CatalogExportRepository;
+import com.gftworkshopcatalog.services.impl.CatalogExportServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class CatalogExportServiceImplTest {
+
+    @Mock
+    private CatalogExportRepository catalogExportRepository;
+
+    private CatalogExportServiceImpl catalogExportService;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        doAnswer(invocation -> {
+            invocation.getArgument(0, Consumer.class).accept(new CategoryEntity(2L, "Toys"));
+            return null;
+        }).when(catalogExportRepository).forEachCategory(any());
+        doAnswer(invocation -> {
+            Consumer<ProductEntity> consumer = invocation.getArgument(0);
+            consumer.accept(new ProductEntity(8L, "Puzzle", "Agree go rock over.", 51.44, 2L, 3.1, 89, 15));
+            consumer.accept(new ProductEntity(9L, "Kite", null, 12.5, 2L, 0.4, 10, 2));
+            return null;
+        }).when(catalogExportRepository).forEachProduct(any());
+        doAnswer(invocation -> {
+            invocation.getArgument(0, Consumer.class).accept(new PromotionEntity(1L, 2L, 0.20, "VOLUME", 5,
+                    LocalDate.of(2024, 1, 6), LocalDate.of(2025, 12, 31), true));
+            return null;
+        }).when(catalogExportRepository).forEachPromotion(any());
+        catalogExportService = new CatalogExportServiceImpl(catalogExportRepository);
+    }
+
+    @Test
+    @DisplayName("Export catalog - Section headers followed by one array per row")
+    void exportCatalog_cborSequence() throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        catalogExportService.exportCatalog(outputStream);
+
+        List<JsonNode> items;
+        try (MappingIterator<JsonNode> iterator = new CBORMapper().readerFor(JsonNode.class).readValues(outputStream.toByteArray())) {
+            items = iterator.readAll();
+        }
+        assertEquals(7, items.size());
+        assertEquals("categories", items.get(0).get("section").asText());
+        assertEquals("Toys", items.get(1).get(1).asText());
+        assertEquals("products", items.get(2).get("section").asText());
+        assertEquals(8, items.get(2).get("columns").size());
+        assertEquals(51.44, items.get(3).get(3).asDouble());
+        assertTrue(items.get(4).get(2).isNull());
+        assertEquals("promotions", items.get(5).get("section").asText());
+        assertEquals("2025-12-31", items.get(6).get(6).asText());
+    }
+}
@@ -1,5 +1,8 @@
 package com.gftworkshopcatalog.services;
 
+import com.gftworkshopcatalog.api.dto.ProductSuggestionDTO;
+import com.gftworkshopcatalog.cache.ActivePromotionIndex;
+import com.gftworkshopcatalog.cache.ProductNameIndex;
 import com.gftworkshopcatalog.exceptions.*;
 import com.gftworkshopcatalog.model.CategoryEntity;
 import com.gftworkshopcatalog.model.ProductEntity;
@@ -30,6 +33,10 @@ class CategoryServiceImplTest {
     private ProductRepository productRepository;
     @Mock
     private PromotionRepository promotionRepository;
+    @Mock
+    private ActivePromotionIndex activePromotionIndex;
+    @Mock
+    private ProductNameIndex productNameIndex;
     @InjectMocks
     private CategoryServiceImpl categoryServiceImpl;
 
@@ -235,7 +242,32 @@ class CategoryServiceImplTest {
         String name = "example";
         String formattedName = categoryServiceImpl.formatName(name);
 
-        assertEquals("Example%", formattedName, "The formatted name should be 'Example%'");
+        assertEquals("example%", formattedName, "The formatted name should be 'example%'");
     }
-}
 
+    @Test
+    @DisplayName("Format name: Case-insensitive with LIKE wildcards escaped")
+    void testFormatName_NormalizedAndEscaped() {
+        assertEquals("swimming goggles%", categoryServiceImpl.formatName("SWIMMING Goggles"));
+        assertEquals("50\\% off\\_\\\\%", categoryServiceImpl.formatName("50% off_\\"));
+    }
+
+    @Test
+    @DisplayName("Suggest product names: Served from the name index")
+    void suggestProductNames_FromIndex() {
+        List<ProductSuggestionDTO> suggestions = List.of(new ProductSuggestionDTO(20L, "Puzzle"));
+        when(productNameIndex.findByPrefix(2L, "puz", 5)).thenReturn(suggestions);
+
+        assertEquals(suggestions, categoryServiceImpl.suggestProductNames(2L, "puz", 5));
+        verifyNoInteractions(productRepository);
+    }
+
+    @Test
+    @DisplayName("Suggest product names: Invalid prefix or limit throws BadRequest")
+    void suggestProductNames_InvalidArguments() {
+        assertThrows(BadRequest.class, () -> categoryServiceImpl.suggestProductNames(2L, " ", 5));
+        assertThrows(BadRequest.class, () -> categoryServiceImpl.suggestProductNames(2L, "puz", 0));
+        assertThrows(BadRequest.class, () -> categoryServiceImpl.suggestProductNames(2L, "puz", 51));
+        verifyNoInteractions(productNameIndex);
+    }
+}
@@ -0,0 +1,47 @@
+package com.gftworkshopcatalog.services;
+
+import com.gftworkshopcatalog.model.ProductEntity;
+import com.gftworkshopcatalog.model.PromotionEntity;
+import com.gftworkshopcatalog.repositories.ProductRepository;
+import com.gftworkshopcatalog.services.impl.ProductServiceImpl;
+import com.gftworkshopcatalog.services.impl.PromotionServiceImpl;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:effectivePrice")
+class EffectivePriceIntegrationTest {
+
+    private static final long PRODUCT_ID = 20L;
+
+    @Autowired
+    private ProductServiceImpl productServiceImpl;
+
+    @Autowired
+    private PromotionServiceImpl promotionServiceImpl;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Test
+    @DisplayName("Seasonal promotion - Effective price is derived on read and the stored price never changes")
+    void seasonalPromotion_effectivePriceDoesNotDrift() {
+        ProductEntity stored = productRepository.findById(PRODUCT_ID).orElseThrow();
+        promotionServiceImpl.addPromotion(new PromotionEntity(null, stored.getCategoryId(), 0.50, "SEASONAL", 1,
+                LocalDate.now().minusDays(1), LocalDate.now().plusDays(1), true));
+
+        ProductEntity first = productServiceImpl.findProductById(PRODUCT_ID);
+        ProductEntity second = productServiceImpl.findProductById(PRODUCT_ID);
+
+        double expected = Math.round(stored.getPrice() * 0.50 * 100) / 100.0;
+        assertEquals(stored.getPrice(), first.getPrice());
+        assertEquals(expected, first.getEffectivePrice());
+        assertEquals(expected, second.getEffectivePrice());
+        assertEquals(stored.getPrice(), productRepository.findById(PRODUCT_ID).orElseThrow().getPrice());
+    }
+}
@@ -0,0 +1,98 @@
+package com.gftworkshopcatalog.services;
+
+import com.gftworkshopcatalog.api.dto.ProductImportErrorDTO;
+import com.gftworkshopcatalog.api.dto.ProductImportResultDTO;
+import com.gftworkshopcatalog.model.ProductEntity;
+import com.gftworkshopcatalog.repositories.ProductRepository;
+import com.gftworkshopcatalog.startup.CatalogWarmup;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:productImport",
+        "spring.jpa.show-sql=false"
+})
+class ProductImportIntegrationTest {
+
+    private static final String HEADER = "name,description,price,categoryId,weight,currentStock,minStock\n";
+
+    @Autowired
+    private ProductImportService productImportService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CatalogWarmup catalogWarmup;
+
+    @BeforeEach
+    void setUp() throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(30).toNanos();
+        while (!catalogWarmup.isCompleted() && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+        }
+        assertTrue(catalogWarmup.isCompleted(), "Warmup queries would be counted as import statements");
+    }
+
+    @Test
+    @DisplayName("Import CSV - Rows inserted in JDBC batches with pooled sequence IDs")
+    void importCsv_insertedInBatches() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        ProductImportResultDTO result = importCsv(IntStream.rangeClosed(1, 100)
+                .mapToObj(i -> "Batch Kite " + i + ",Imported,12.5,2,0.4,10,2")
+                .collect(Collectors.joining("\n")));
+        long statements = statistics.getPrepareStatementCount();
+
+        List<ProductEntity> imported = productRepository.findAll().stream()
+                .filter(product -> product.getName().startsWith("Batch Kite "))
+                .toList();
+        assertEquals(100, result.getImported());
+        assertEquals(100, imported.size());
+        assertTrue(imported.stream().allMatch(product -> product.getId() >= 1001 && "batch kite".equals(product.getNameNormalized().substring(0, 10))));
+        assertTrue(statements <= 6, "Expected the category lookup, sequence calls and batched inserts, got " + statements + " statements");
+    }
+
+    @Test
+    @DisplayName("Import CSV - Rejected rows reported without aborting the load")
+    void importCsv_reportsRejectedRows() {
+        String tooLongName = "x".repeat(300);
+
+        ProductImportResultDTO result = importCsv(String.join("\n",
+                "Error Kite 1,Imported,12.5,2,0.4,10,2",
+                tooLongName + ",Too long,12.5,2,0.4,10,2",
+                "Error Kite 3,Imported,12.5,99,0.4,10,2",
+                "Error Kite 4,Imported,12.5,2,0.4,10,2"));
+
+        assertEquals(2, result.getImported());
+        assertEquals(List.of(2L, 3L), result.getErrors().stream().map(ProductImportErrorDTO::getRow).toList());
+        assertTrue(result.getErrors().get(0).getMessage().startsWith("Rejected by the database"));
+        assertEquals(2, productRepository.findAll().stream()
+                .filter(product -> product.getName().startsWith("Error Kite "))
+                .count());
+    }
+
+    private ProductImportResultDTO importCsv(String rows) {
+        return productImportService.importProducts(
+                new ByteArrayInputStream((HEADER + rows).getBytes(StandardCharsets.UTF_8)), ProductImportService.Format.CSV);
+    }
+}
@@ -0,0 +1,119 @@
+package com.gftworkshopcatalog.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gftworkshopcatalog.api.dto.ProductImportErrorDTO;
+import com.gftworkshopcatalog.api.dto.ProductImportResultDTO;
+import com.gftworkshopcatalog.cache.ProductNameIndex;
+import com.gftworkshopcatalog.model.CategoryEntity;
+import com.gftworkshopcatalog.model.ProductEntity;
+import com.gftworkshopcatalog.repositories.CategoryRepository;
+import com.gftworkshopcatalog.repositories.ProductRepository;
+import com.gftworkshopcatalog.search.ProductSearchIndex;
+import com.gftworkshopcatalog.services.impl.ProductImportServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class ProductImportServiceImplTest {
+
+    @Mock
+    private ProductRepository productRepository;
+    @Mock
+    private CategoryRepository categoryRepository;
+    @Mock
+    private ProductNameIndex productNameIndex;
+    @Mock
+    private ProductSearchIndex productSearchIndex;
+
+    private ProductImportServiceImpl productImportService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(categoryRepository.findAll()).thenReturn(List.of(new CategoryEntity(1L, "Clothing"), new CategoryEntity(2L, "Toys")));
+        when(productRepository.insertAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        productImportService = new ProductImportServiceImpl(productRepository, categoryRepository, productNameIndex,
+                productSearchIndex, new ObjectMapper(), 2);
+    }
+
+    @Test
+    @DisplayName("Import CSV - Valid rows written in batches, invalid rows reported")
+    @SuppressWarnings("unchecked")
+    void importCsv_batchesAndReportsErrors() {
+        String csv = """
+                name,description,price,categoryId,weight,currentStock,minStock
+                Kite,Flies high,12.5,2,0.4,10,2
+                Scarf,,8,1,0.2,30,5
+                Yo-yo,,-3,2,0.1,50,5
+                Robot,,40,9,1.5,5,1
+                Ball,,abc,2,0.3,20,2
+                Top,,3.5,2,0.1,40,4
+                """;
+
+        ProductImportResultDTO result = productImportService.importProducts(stream(csv), ProductImportService.Format.CSV);
+
+        assertEquals(3, result.getImported());
+        assertEquals(3, result.getFailed());
+        assertEquals(List.of(3L, 4L, 5L), result.getErrors().stream().map(ProductImportErrorDTO::getRow).toList());
+        assertEquals("Category not found with ID: 9", result.getErrors().get(1).getMessage());
+        ArgumentCaptor<List<ProductEntity>> batches = ArgumentCaptor.forClass(List.class);
+        verify(productRepository, times(2)).insertAll(batches.capture());
+        assertEquals(List.of("Kite", "Scarf"), batches.getAllValues().get(0).stream().map(ProductEntity::getName).toList());
+        assertEquals(List.of("Top"), batches.getAllValues().get(1).stream().map(ProductEntity::getName).toList());
+        verify(productSearchIndex, times(3)).put(any(ProductEntity.class));
+    }
+
+    @Test
+    @DisplayName("Import NDJSON - Rejected batch retried row by row")
+    void importNdjson_retriesRejectedBatch() {
+        String ndjson = """
+                {"name":"Kite","price":12.5,"categoryId":2,"weight":0.4,"currentStock":10,"minStock":2}
+                {"name":"Scarf","price":8,"categoryId":1,"weight":0.2,"currentStock":30,"minStock":5}
+                """;
+        when(productRepository.insertAll(anyList())).thenAnswer(invocation -> {
+            List<ProductEntity> products = invocation.getArgument(0);
+            if (products.stream().anyMatch(product -> product.getName().equals("Scarf"))) {
+                throw new DataIntegrityViolationException("Value too long for column NAME");
+            }
+            return products;
+        });
+
+        ProductImportResultDTO result = productImportService.importProducts(stream(ndjson), ProductImportService.Format.NDJSON);
+
+        assertEquals(1, result.getImported());
+        assertEquals(List.of(new ProductImportErrorDTO(2, "Rejected by the database: Value too long for column NAME")), result.getErrors());
+        verify(productNameIndex, times(1)).put(any(ProductEntity.class));
+    }
+
+    @Test
+    @DisplayName("Import NDJSON - Malformed JSON stops the import and keeps written rows")
+    void importNdjson_malformedStops() {
+        String ndjson = """
+                {"name":"Kite","price":12.5,"categoryId":2,"weight":0.4,"currentStock":10,"minStock":2}
+                {"name":"Scarf","price":
+                """;
+
+        ProductImportResultDTO result = productImportService.importProducts(stream(ndjson), ProductImportService.Format.NDJSON);
+
+        assertEquals(1, result.getImported());
+        assertEquals(1, result.getFailed());
+        assertTrue(result.getErrors().get(0).getMessage().startsWith("Unreadable input, import stopped"));
+    }
+
+    private static InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -1,27 +1,54 @@
 package com.gftworkshopcatalog.services;
 
 import com.gftworkshopcatalog.api.dto.CartProductDTO;
+import com.gftworkshopcatalog.api.dto.ProductPageDTO;
+import com.gftworkshopcatalog.api.dto.ProductSearchPageDTO;
+import com.gftworkshopcatalog.api.dto.StockReservationDTO;
+import com.gftworkshopcatalog.api.dto.StockReservationResultDTO;
+import com.gftworkshopcatalog.cache.ActivePromotionIndex;
+import com.gftworkshopcatalog.cache.ProductBatchLoader;
+import com.gftworkshopcatalog.cache.ProductCache;
+import com.gftworkshopcatalog.cache.ProductNameIndex;
 import com.gftworkshopcatalog.exceptions.*;
 import com.gftworkshopcatalog.model.ProductEntity;
 import com.gftworkshopcatalog.model.PromotionEntity;
 import com.gftworkshopcatalog.operations.ProductOperations;
 import com.gftworkshopcatalog.repositories.ProductRepository;
-import com.gftworkshopcatalog.repositories.PromotionRepository;
+import com.gftworkshopcatalog.search.ProductSearchIndex;
 import com.gftworkshopcatalog.services.impl.ProductServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.data.domain.Limit;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
 
 
@@ -30,7 +57,15 @@ class ProductServiceImplTest {
     @Mock
     private ProductRepository productRepository;
     @Mock
-    private PromotionRepository promotionRepository;
+    private ActivePromotionIndex activePromotionIndex;
+    @Spy
+    private ProductCache productCache = new ProductCache(100, Duration.ofMinutes(10), new SimpleMeterRegistry());
+    @Mock
+    private ProductNameIndex productNameIndex;
+    @Mock
+    private ProductSearchIndex productSearchIndex;
+    @Mock
+    private ProductBatchLoader productBatchLoader;
 
     @InjectMocks
     private ProductServiceImpl productServiceImpl;
@@ -88,6 +123,73 @@ class ProductServiceImplTest {
         assertFalse(result.isEmpty());
     }
 
+    @Test
+    @DisplayName("Find products page - Returns the next cursor when more products follow")
+    void findProductsPage_WithNextCursor() {
+        when(productRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(2))).thenReturn(List.of(product1, product2));
+
+        ProductPageDTO result = productServiceImpl.findProductsPage(null, 1);
+
+        assertEquals(List.of(product1), result.getItems());
+        assertEquals(1L, result.getNext());
+    }
+
+    @Test
+    @DisplayName("Find products page - Last page has no next cursor")
+    void findProductsPage_LastPage() {
+        when(productRepository.findByIdGreaterThanOrderByIdAsc(1L, Limit.of(3))).thenReturn(List.of(product2));
+
+        ProductPageDTO result = productServiceImpl.findProductsPage(1L, 2);
+
+        assertEquals(List.of(product2), result.getItems());
+        assertNull(result.getNext());
+    }
+
+    @Test
+    @DisplayName("Find products page - Invalid page size")
+    void findProductsPage_InvalidSize() {
+        assertThrows(BadRequest.class, () -> productServiceImpl.findProductsPage(null, 0));
+        assertThrows(BadRequest.class, () -> productServiceImpl.findProductsPage(null, 1001));
+        verifyNoInteractions(productRepository);
+    }
+
+    @Test
+    @DisplayName("Search products - Hits keep the index ranking")
+    void searchProducts_KeepsRanking() {
+        when(productSearchIndex.search("puzzle", 2L, null, 60.0, 0, 10)).thenReturn(new ProductSearchIndex.Result(
+                List.of(new ProductSearchIndex.Hit(2L, 3.5), new ProductSearchIndex.Hit(1L, 1.25)), 2));
+        productCache.putAll(List.of(product1, product2));
+
+        ProductSearchPageDTO result = productServiceImpl.searchProducts("puzzle", 2L, null, 60.0, 0, 10);
+
+        assertEquals(2, result.getTotal());
+        assertEquals(product2.getId(), result.getItems().get(0).getProduct().getId());
+        assertEquals(3.5, result.getItems().get(0).getScore());
+        assertEquals(product1.getId(), result.getItems().get(1).getProduct().getId());
+        verifyNoInteractions(productRepository);
+    }
+
+    @Test
+    @DisplayName("Search products - Invalid query, page or price range")
+    void searchProducts_InvalidArguments() {
+        assertThrows(BadRequest.class, () -> productServiceImpl.searchProducts(" ", null, null, null, 0, 10));
+        assertThrows(BadRequest.class, () -> productServiceImpl.searchProducts("puzzle", null, null, null, -1, 10));
+        assertThrows(BadRequest.class, () -> productServiceImpl.searchProducts("puzzle", null, null, null, 0, 101));
+        assertThrows(BadRequest.class, () -> productServiceImpl.searchProducts("puzzle", null, 50.0, 10.0, 0, 10));
+        verifyNoInteractions(productSearchIndex);
+    }
+
+    @Test
+    @DisplayName("Stream all products - Every product reaches the consumer")
+    void streamAllProducts_Success() {
+        when(productRepository.streamAllOrderedById()).thenReturn(Stream.of(product1, product2));
+        List<ProductEntity> streamed = new ArrayList<>();
+
+        productServiceImpl.streamAllProducts(streamed::add);
+
+        assertEquals(List.of(product1, product2), streamed);
+    }
+
     @Test
     @DisplayName("Find product by ID - Success")
     void findProductById_Success() {
@@ -98,6 +200,82 @@ class ProductServiceImplTest {
         assertNotNull(result);
     }
 
+    @Test
+    @DisplayName("Find product by ID - Served from cache")
+    void findProductById_CacheHit() {
+        productCache.put(product1);
+
+        ProductEntity result = productServiceImpl.findProductById(1L);
+
+        assertEquals(product1, result);
+        verify(productRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    @DisplayName("Find product by ID - Effective price computed from the active seasonal promotion")
+    void findProductById_EffectivePrice() {
+        PromotionEntity seasonalPromotion = new PromotionEntity(1L, 1L, 0.10, "SEASONAL", 1, LocalDate.now(), LocalDate.now(), true);
+        productCache.put(product1);
+        when(activePromotionIndex.findActivePromotionByCategoryIdAndType(1L, "SEASONAL")).thenReturn(seasonalPromotion);
+
+        ProductEntity result = productServiceImpl.findProductById(1L);
+
+        assertEquals(65.0, result.getPrice());
+        assertEquals(58.5, result.getEffectivePrice());
+        assertNull(product1.getEffectivePrice(), "The cached product must not be modified");
+    }
+
+    @Test
+    @DisplayName("Find product by ID - Effective price equals base price without promotion")
+    void findProductById_EffectivePriceWithoutPromotion() {
+        productCache.put(product1);
+
+        ProductEntity result = productServiceImpl.findProductById(1L);
+
+        assertEquals(65.0, result.getEffectivePrice());
+    }
+
+    @Test
+    @DisplayName("Find product by ID - Cached after a miss")
+    void findProductById_CacheMiss() {
+        when(productRepository.findById(1L)).thenReturn(Optional.of(product1));
+
+        productServiceImpl.findProductById(1L);
+
+        assertEquals(product1, productCache.get(1L));
+    }
+
+    @Test
+    @DisplayName("Find product by ID - Concurrent misses share one query")
+    void findProductById_ConcurrentMissesCoalesced() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(productRepository.findById(1L)).thenAnswer(invocation -> {
+            loading.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return Optional.of(product1);
+        });
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<ProductEntity>> results = new ArrayList<>();
+            results.add(executor.submit(() -> productServiceImpl.findProductById(1L)));
+            assertTrue(loading.await(5, TimeUnit.SECONDS));
+            for (int i = 0; i < 3; i++) {
+                results.add(executor.submit(() -> productServiceImpl.findProductById(1L)));
+            }
+            Thread.sleep(50);
+            release.countDown();
+
+            for (Future<ProductEntity> result : results) {
+                assertEquals(1L, result.get(5, TimeUnit.SECONDS).getId());
+            }
+            verify(productRepository, times(1)).findById(1L);
+            assertEquals(product1, productCache.get(1L));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
     @Test
     @DisplayName("Find product by ID - Not Found")
     void findProductById_NotFound() {
@@ -123,6 +301,23 @@ class ProductServiceImplTest {
 
         assertNotNull(result, "The saved product should not be null");
         assertEquals(100.0, result.getPrice(), "The price should match the input");
+        verify(productNameIndex).put(product);
+    }
+
+    @Test
+    @DisplayName("Add product - Client-supplied ID is not merged")
+    void addProduct_IgnoresClientId() {
+        product1.setId(3L);
+        when(productRepository.save(any(ProductEntity.class))).thenAnswer(invocation -> {
+            ProductEntity saved = invocation.getArgument(0);
+            assertNull(saved.getId());
+            saved.setId(1001L);
+            return saved;
+        });
+
+        ProductEntity result = productServiceImpl.addProduct(product1);
+
+        assertEquals(1001L, result.getId());
     }
 
     @Test
@@ -149,6 +344,9 @@ class ProductServiceImplTest {
         when(productRepository.save(any(ProductEntity.class))).thenReturn(existingProduct);
         ProductEntity result = productServiceImpl.updateProduct(productId, productDetails);
         assertNotNull(result);
+        verify(productCache).evict(productId);
+        verify(productNameIndex).put(existingProduct);
+        verify(productSearchIndex).put(existingProduct);
     }
 
     @Test
@@ -159,6 +357,9 @@ class ProductServiceImplTest {
         when(productRepository.findById(productId)).thenReturn(Optional.of(product));
         productServiceImpl.deleteProduct(productId);
         verify(productRepository).delete(product);
+        verify(productCache).evict(productId);
+        verify(productNameIndex).remove(productId);
+        verify(productSearchIndex).remove(productId);
     }
     @Test
     @DisplayName("Update product with null details - Throws Exception")
@@ -183,7 +384,72 @@ class ProductServiceImplTest {
         when(productRepository.save(product)).thenReturn(product);
         ProductEntity result = productServiceImpl.updateProductPrice(productId, newPrice);
         assertEquals(newPrice, result.getPrice());
+        verify(productCache).evict(productId);
+    }
+    @Test
+    @DisplayName("Update product price - Stale expected version is a conflict")
+    void updateProductPrice_StaleVersion_Conflict() {
+        long productId = 1L;
+        ProductEntity product = ProductEntity.builder().id(productId).price(100.0).version(3L).build();
+        when(productRepository.findById(productId)).thenReturn(Optional.of(product));
+
+        ConflictProduct exception = assertThrows(ConflictProduct.class,
+                () -> productServiceImpl.updateProductPrice(productId, 150.0, 2L));
+
+        assertEquals(3L, exception.getCurrentVersion());
+        verify(productRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Update product price - Concurrent write is a conflict for API callers")
+    void updateProductPrice_ConcurrentWrite_Conflict() {
+        long productId = 1L;
+        when(productRepository.findById(productId)).thenReturn(
+                Optional.of(ProductEntity.builder().id(productId).price(100.0).version(3L).build()),
+                Optional.of(ProductEntity.builder().id(productId).price(120.0).version(4L).build()));
+        when(productRepository.save(any(ProductEntity.class)))
+                .thenThrow(new ObjectOptimisticLockingFailureException(ProductEntity.class, productId));
+
+        ConflictProduct exception = assertThrows(ConflictProduct.class,
+                () -> productServiceImpl.updateProductPrice(productId, 150.0, 3L));
+
+        assertEquals(4L, exception.getCurrentVersion());
+        verify(productRepository, times(1)).save(any());
+        verify(productCache, never()).evict(productId);
+    }
+
+    @Test
+    @DisplayName("Update product price - Internal callers retry on a fresh copy")
+    void updateProductPrice_ConcurrentWrite_Retried() {
+        long productId = 1L;
+        when(productRepository.findById(productId)).thenAnswer(invocation ->
+                Optional.of(ProductEntity.builder().id(productId).price(100.0).version(3L).build()));
+        when(productRepository.save(any(ProductEntity.class)))
+                .thenThrow(new ObjectOptimisticLockingFailureException(ProductEntity.class, productId))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        ProductEntity result = productServiceImpl.updateProductPrice(productId, 150.0);
+
+        assertEquals(150.0, result.getPrice());
+        verify(productRepository, times(2)).save(any());
+        verify(productCache).evict(productId);
+    }
+
+    @Test
+    @DisplayName("Update product - Internal callers give up after repeated conflicts")
+    void updateProduct_RepeatedConflicts_Conflict() {
+        long productId = 1L;
+        ProductEntity productDetails = new ProductEntity(null, "Jacket", "Warm", 58.79, 1L, 3.71, 26, 10);
+        when(productRepository.findById(productId)).thenAnswer(invocation ->
+                Optional.of(ProductEntity.builder().id(productId).price(100.0).version(3L).build()));
+        when(productRepository.save(any(ProductEntity.class)))
+                .thenThrow(new ObjectOptimisticLockingFailureException(ProductEntity.class, productId));
+
+        assertThrows(ConflictProduct.class, () -> productServiceImpl.updateProduct(productId, productDetails));
+
+        verify(productRepository, times(5)).save(any());
     }
+
     @Test
     @DisplayName("Update product price with negative price - Throws Exception")
     void updateProductPrice_NegativePrice_ThrowsException() {
@@ -202,21 +468,25 @@ class ProductServiceImplTest {
     @DisplayName("Update product stock - Success")
     void updateProductStock_Success() {
         int quantity = 50;
+        product.setCurrentStock(150);
+        when(productRepository.adjustStock(1L, quantity)).thenReturn(1);
         when(productRepository.findById(1L)).thenReturn(Optional.of(product));
-        when(productRepository.save(any(ProductEntity.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         ProductEntity updatedProduct = productServiceImpl.updateProductStock(1L, quantity);
 
         assertNotNull(updatedProduct);
         assertEquals(150, updatedProduct.getCurrentStock());
-        verify(productRepository).save(product);
+        verify(productRepository).adjustStock(1L, quantity);
+        verify(productCache).evict(1L);
+        verify(productRepository, never()).save(any(ProductEntity.class));
     }
     @Test
     @DisplayName("Fail to update product stock due to insufficient stock")
     void testUpdateProductStock_FailDueToInsufficientStock() {
 
         int quantity = -150;
-        when(productRepository.findById(1L)).thenReturn(Optional.of(product));
+        when(productRepository.adjustStock(1L, quantity)).thenReturn(0);
+        when(productRepository.existsById(1L)).thenReturn(true);
 
         BadRequest exception = assertThrows(BadRequest.class, () -> productServiceImpl.updateProductStock(1L, quantity),
                 "Should throw BadRequest due to insufficient stock");
@@ -225,26 +495,87 @@ class ProductServiceImplTest {
         verify(productRepository, never()).save(any(ProductEntity.class));
     }
 
+    @Test
+    @DisplayName("Fail to update product stock due to unknown product")
+    void testUpdateProductStock_NotFound() {
+        when(productRepository.adjustStock(999L, -1)).thenReturn(0);
+        when(productRepository.existsById(999L)).thenReturn(false);
+
+        assertThrows(NotFoundProduct.class, () -> productServiceImpl.updateProductStock(999L, -1));
+    }
+
 
+    @Test
+    @DisplayName("Reserve stock - Success ordered by product ID")
+    void reserveStock_Success() {
+        List<StockReservationDTO> reservations = List.of(new StockReservationDTO(2L, -5), new StockReservationDTO(1L, -1));
+        when(productRepository.adjustStockInBatch(anyList())).thenReturn(new int[]{1, 1});
+        when(productRepository.findCurrentStocks(Set.of(1L, 2L))).thenReturn(Map.of(1L, 25, 2L, 20));
+
+        List<StockReservationResultDTO> results = productServiceImpl.reserveStock(reservations);
+
+        verify(productRepository).adjustStockInBatch(List.of(new StockReservationDTO(1L, -1), new StockReservationDTO(2L, -5)));
+        assertEquals(List.of(new StockReservationResultDTO(2L, -5, 20), new StockReservationResultDTO(1L, -1, 25)), results);
+    }
+
+    @Test
+    @DisplayName("Reserve stock - Insufficient stock")
+    void reserveStock_InsufficientStock() {
+        List<StockReservationDTO> reservations = List.of(new StockReservationDTO(1L, -1), new StockReservationDTO(2L, -500));
+        when(productRepository.adjustStockInBatch(anyList())).thenReturn(new int[]{1, 0});
+        when(productRepository.findCurrentStocks(Set.of(1L, 2L))).thenReturn(Map.of(1L, 25, 2L, 20));
+
+        BadRequest exception = assertThrows(BadRequest.class, () -> productServiceImpl.reserveStock(reservations));
+
+        assertEquals("Insufficient stock for product IDs: [2]", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Reserve stock - Product not found")
+    void reserveStock_NotFound() {
+        List<StockReservationDTO> reservations = List.of(new StockReservationDTO(999L, -1));
+        when(productRepository.adjustStockInBatch(anyList())).thenReturn(new int[]{0});
+        when(productRepository.findCurrentStocks(Set.of(999L))).thenReturn(Collections.emptyMap());
+
+        assertThrows(NotFoundProduct.class, () -> productServiceImpl.reserveStock(reservations));
+    }
+
+    @Test
+    @DisplayName("Reserve stock - Empty reservations")
+    void reserveStock_Empty() {
+        assertThrows(BadRequest.class, () -> productServiceImpl.reserveStock(Collections.emptyList()));
+        verify(productRepository, never()).adjustStockInBatch(anyList());
+    }
 
     @Test
     @DisplayName("Find products by IDs - Success")
     void findProductsByIds_Success() {
         List<Long> ids = List.of(1L, 2L);
-        List<ProductEntity> products = List.of(new ProductEntity(), new ProductEntity());
-        when(productRepository.findAllById(ids)).thenReturn(products);
+        when(productBatchLoader.loadAll(ids)).thenReturn(Map.of(1L, product1, 2L, product2));
         List<ProductEntity> result = productServiceImpl.findProductsByIds(ids);
         assertNotNull(result);
         assertEquals(2, result.size());
     }
+    @Test
+    @DisplayName("Find products by IDs - Returned in the requested order")
+    void findProductsByIds_RequestedOrder() {
+        ProductEntity product3 = new ProductEntity(3L, "Puzzle", "Pieces", 20.0, 2L, 1.0, 10, 1);
+        productCache.put(product2);
+        when(productBatchLoader.loadAll(List.of(3L, 1L))).thenReturn(Map.of(1L, product1, 3L, product3));
+
+        List<ProductEntity> result = productServiceImpl.findProductsByIds(List.of(3L, 2L, 1L));
+
+        assertEquals(List.of(3L, 2L, 1L), result.stream().map(ProductEntity::getId).toList());
+    }
+
     @Test
     @DisplayName("Find products by IDs - Not Found")
     void testFindProductsByIdsNotFound() {
         List<Long> ids = Arrays.asList(1L, 999L); // 999L is assumed to not exist
-        List<ProductEntity> foundProducts = List.of(
-                new ProductEntity(1L, "Product 1", "Description 1", 100.0, 1L, 1.0, 10, 5)
+        Map<Long, ProductEntity> foundProducts = Map.of(
+                1L, new ProductEntity(1L, "Product 1", "Description 1", 100.0, 1L, 1.0, 10, 5)
         );
-        when(productRepository.findAllById(ids)).thenReturn(foundProducts);
+        when(productBatchLoader.loadAll(ids)).thenReturn(foundProducts);
 
         Exception exception = assertThrows(NotFoundProduct.class, () -> productServiceImpl.findProductsByIds(ids));
 
@@ -260,7 +591,7 @@ class ProductServiceImplTest {
         ProductEntity product = new ProductEntity();
         product.setPrice(100.0);
         when(productRepository.findById(productId)).thenReturn(Optional.of(product));
-        when(promotionRepository.findActivePromotionByCategoryId(product.getCategoryId())).thenReturn(null);
+        when(activePromotionIndex.findActivePromotionByCategoryIdAndType(product.getCategoryId(), "VOLUME")).thenReturn(null);
         double result = productServiceImpl.calculateDiscountedPrice(productId, quantity);
         assertEquals(100.0, result);
     }
@@ -273,10 +604,7 @@ class ProductServiceImplTest {
                 new CartProductDTO(2L, 2L, "Building Blocks", "Agent word occur number chair.",5, new BigDecimal("100.0"))
         );
 
-        when(productRepository.findById(1L)).thenReturn(Optional.of(product1));
-        when(productRepository.findById(2L)).thenReturn(Optional.of(product2));
-        when(promotionRepository.findActivePromotionByCategoryId(1L)).thenReturn(null);
-        when(promotionRepository.findActivePromotionByCategoryId(2L)).thenReturn(null);
+        when(productRepository.findAllById(anyIterable())).thenReturn(List.of(product1, product2));
 
         List<ProductEntity> result = productServiceImpl.calculateListDiscountedPrice(cartProducts);
 
@@ -293,10 +621,8 @@ class ProductServiceImplTest {
                 new CartProductDTO(2L, 2L, "Building Blocks", "Agent word occur number chair.",5, new BigDecimal("100.0"))
         );
 
-        when(productRepository.findById(1L)).thenReturn(Optional.of(product1));
-        when(productRepository.findById(2L)).thenReturn(Optional.of(product2));
-        when(promotionRepository.findActivePromotionByCategoryId(1L)).thenReturn(null);
-        when(promotionRepository.findActivePromotionByCategoryId(2L)).thenReturn(promotion1);
+        when(productRepository.findAllById(anyIterable())).thenReturn(List.of(product1, product2));
+        when(activePromotionIndex.findActivePromotionByCategoryIdAndType(2L, "VOLUME")).thenReturn(promotion1);
 
         List<ProductEntity> result = productServiceImpl.calculateListDiscountedPrice(cartProducts);
 
@@ -305,6 +631,38 @@ class ProductServiceImplTest {
         assertEquals(400.0, result.get(1).getPrice());
     }
 
+    @Test
+    @DisplayName("Calculate discounted price - Seasonal and volume promotions in one category")
+    void calculateDiscountedPriceV2_seasonalAndVolumePromotions() {
+        List<CartProductDTO> cartProducts = List.of(
+                new CartProductDTO(1L, 2L, "Building Blocks", "Agent word occur number chair.", 5, new BigDecimal("100.0"))
+        );
+        PromotionEntity seasonalPromotion = new PromotionEntity(3L, 2L, 0.1, "SEASONAL", 1,
+                LocalDate.now().minusDays(1), LocalDate.now().plusDays(1), true);
+
+        when(productRepository.findAllById(anyIterable())).thenReturn(List.of(product2));
+        when(activePromotionIndex.findActivePromotionByCategoryIdAndType(2L, "SEASONAL")).thenReturn(seasonalPromotion);
+        when(activePromotionIndex.findActivePromotionByCategoryIdAndType(2L, "VOLUME")).thenReturn(promotion1);
+
+        List<ProductEntity> result = productServiceImpl.calculateListDiscountedPrice(cartProducts);
+
+        assertEquals(360.0, result.get(0).getPrice());
+    }
+
+    @Test
+    @DisplayName("Calculate discounted price - Product not found")
+    void calculateDiscountedPriceV2_productNotFound() {
+        List<CartProductDTO> cartProducts = Arrays.asList(
+                new CartProductDTO(1L, 1L, "Jacket", "Something indicate large central measure watch provide.",1, new BigDecimal("65.0")),
+                new CartProductDTO(2L, 999L, "Unknown", "Unknown",1, new BigDecimal("10.0"))
+        );
+
+        when(productRepository.findAllById(anyIterable())).thenReturn(List.of(product1));
+
+        assertThrows(NotFoundProduct.class, () -> productServiceImpl.calculateListDiscountedPrice(cartProducts));
+        verify(activePromotionIndex, never()).findActivePromotionByCategoryIdAndType(any(), any());
+    }
+
     @Test
     @DisplayName("Calculate new price - Below volume threshold")
     void calculateNewPriceV2_belowThreshold() {
@@ -1,5 +1,7 @@
 package com.gftworkshopcatalog.services;
 
+import com.gftworkshopcatalog.cache.ActivePromotionIndex;
+import com.gftworkshopcatalog.cache.ProductCache;
 import com.gftworkshopcatalog.exceptions.AddProductInvalidArgumentsExceptions;
 import com.gftworkshopcatalog.exceptions.InternalServiceException;
 import com.gftworkshopcatalog.exceptions.NotFoundProduct;
@@ -8,18 +10,21 @@ import com.gftworkshopcatalog.model.ProductEntity;
 import com.gftworkshopcatalog.model.PromotionEntity;
 import com.gftworkshopcatalog.repositories.ProductRepository;
 import com.gftworkshopcatalog.repositories.PromotionRepository;
+import com.gftworkshopcatalog.scheduling.PromotionLifecycleScheduler;
 import com.gftworkshopcatalog.services.impl.ProductServiceImpl;
 import com.gftworkshopcatalog.services.impl.PromotionServiceImpl;
-import com.gftworkshopcatalog.services.impl.StatusPromotionServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
 import org.springframework.dao.DataAccessException;
 import org.springframework.dao.DataIntegrityViolationException;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.Collections;
@@ -35,12 +40,15 @@ class PromotionServiceImplTest {
     private PromotionRepository promotionRepository;
     @Mock
     private ProductRepository productRepository;
+    @Mock
+    private ActivePromotionIndex activePromotionIndex;
+    @Spy
+    private ProductCache productCache = new ProductCache(100, Duration.ofMinutes(10), new SimpleMeterRegistry());
+    @Mock
+    private PromotionLifecycleScheduler promotionLifecycleScheduler;
     @InjectMocks
     private PromotionServiceImpl promotionServiceImpl;
 
-    @InjectMocks
-    private StatusPromotionServiceImpl statusPromotionServiceImpl;
-
     @InjectMocks
     private ProductServiceImpl productServiceImpl;
 
@@ -144,6 +152,8 @@ class PromotionServiceImplTest {
         promotionServiceImpl.deletePromotion(promotionEntity.getPromotionId());
 
         verify(promotionRepository, times(1)).delete(promotionEntity);
+        verify(activePromotionIndex).refresh();
+        verify(promotionLifecycleScheduler).untrack(promotionEntity.getPromotionId());
     }
     @Test
     @DisplayName("Delete Promotion - NotFoundPromotion")
@@ -182,6 +192,8 @@ class PromotionServiceImplTest {
         assertNotNull(savedPromotion);
         assertEquals(0.20, savedPromotion.getDiscount());
         verify(promotionRepository).save(validPromotion);
+        verify(activePromotionIndex).refresh();
+        verify(promotionLifecycleScheduler).track(validPromotion);
     }
     @Test
     @DisplayName("Add a new promotion - IllegalArgumentException when promotion details are null")
@@ -225,6 +237,8 @@ class PromotionServiceImplTest {
                 () -> assertEquals(LocalDate.of(2024, 9, 1), result.getEndDate())
         );
         verify(promotionRepository).save(promotionEntity);
+        verify(activePromotionIndex).refresh();
+        verify(promotionLifecycleScheduler).track(updateDetails);
     }
     @Test
     @DisplayName("Update Promotion - Null Details Exception")
@@ -281,7 +295,7 @@ class PromotionServiceImplTest {
     @DisplayName("Calculate Discounted Price - No Active Promotion")
     void testCalculateDiscountedPrice_NoActivePromotion() {
         when(productRepository.findById(1L)).thenReturn(Optional.of(product));
-        when(promotionRepository.findActivePromotionByCategoryId(1L)).thenReturn(null);
+        when(activePromotionIndex.findActivePromotionByCategoryIdAndType(1L, "VOLUME")).thenReturn(null);
 
         double price = productServiceImpl.calculateDiscountedPrice(1L, 5);
 
@@ -293,7 +307,7 @@ class PromotionServiceImplTest {
     void testCalculateDiscountedPrice_ActivePromotionButNotVolume() {
         promotionEntity.setPromotionType("SEASONAL");
         when(productRepository.findById(1L)).thenReturn(Optional.of(product));
-        when(promotionRepository.findActivePromotionByCategoryId(1L)).thenReturn(promotionEntity);
+        when(activePromotionIndex.findActivePromotionByCategoryIdAndType(1L, "VOLUME")).thenReturn(null);
 
         double price = productServiceImpl.calculateDiscountedPrice(1L, 5);
 
@@ -305,7 +319,7 @@ class PromotionServiceImplTest {
     void testCalculateDiscountedPrice_VolumePromotionButThresholdNotMet() {
         promotionEntity.setIsActive(true);
         when(productRepository.findById(1L)).thenReturn(Optional.of(product));
-        when(promotionRepository.findActivePromotionByCategoryId(1L)).thenReturn(promotionEntity);
+        when(activePromotionIndex.findActivePromotionByCategoryIdAndType(1L, "VOLUME")).thenReturn(promotionEntity);
 
         double price = productServiceImpl.calculateDiscountedPrice(1L, 3);
 
@@ -317,11 +331,32 @@ class PromotionServiceImplTest {
     void testCalculateDiscountedPrice_VolumePromotionThresholdMet() {
         promotionEntity.setIsActive(true);
         when(productRepository.findById(1L)).thenReturn(Optional.of(product));
-        when(promotionRepository.findActivePromotionByCategoryId(1L)).thenReturn(promotionEntity);
+        when(activePromotionIndex.findActivePromotionByCategoryIdAndType(1L, "VOLUME")).thenReturn(promotionEntity);
 
         double price = productServiceImpl.calculateDiscountedPrice(1L, 5);
 
         assertEquals(80.0, price);
     }
-}
 
+    @Test
+    @DisplayName("Calculate Discounted Price - Seasonal Promotion Started After Volume Promotion")
+    void testCalculateDiscountedPrice_SeasonalAndVolumePromotions() {
+        PromotionEntity seasonalPromotion = PromotionEntity.builder()
+                .promotionId(2L)
+                .categoryId(1L)
+                .discount(0.1)
+                .promotionType("SEASONAL")
+                .volumeThreshold(1)
+                .startDate(LocalDate.of(2024, 6, 1))
+                .endDate(LocalDate.of(2024, 8, 1))
+                .isActive(true)
+                .build();
+        when(productRepository.findById(1L)).thenReturn(Optional.of(product));
+        when(activePromotionIndex.findActivePromotionByCategoryIdAndType(1L, "SEASONAL")).thenReturn(seasonalPromotion);
+        when(activePromotionIndex.findActivePromotionByCategoryIdAndType(1L, "VOLUME")).thenReturn(promotionEntity);
+
+        double price = productServiceImpl.calculateDiscountedPrice(1L, 5);
+
+        assertEquals(72.0, price);
+    }
+}
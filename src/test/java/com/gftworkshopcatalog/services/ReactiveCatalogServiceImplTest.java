@@ -0,0 +1,143 @@
+package com.gftworkshopcatalog.services;
+
+import com.gftworkshopcatalog.cache.ActivePromotionIndex;
+import com.gftworkshopcatalog.exceptions.NotFoundCategory;
+import com.gftworkshopcatalog.exceptions.NotFoundProduct;
+import com.gftworkshopcatalog.model.ProductEntity;
+import com.gftworkshopcatalog.model.PromotionEntity;
+import com.gftworkshopcatalog.model.reactive.ProductRow;
+import com.gftworkshopcatalog.repositories.reactive.ReactiveCategoryRepository;
+import com.gftworkshopcatalog.repositories.reactive.ReactiveProductRepository;
+import com.gftworkshopcatalog.services.impl.ReactiveCatalogServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class ReactiveCatalogServiceImplTest {
+
+    @Mock
+    private ReactiveProductRepository productRepository;
+    @Mock
+    private ReactiveCategoryRepository categoryRepository;
+    @Mock
+    private ActivePromotionIndex activePromotionIndex;
+    @InjectMocks
+    private ReactiveCatalogServiceImpl reactiveCatalogServiceImpl;
+
+    private ProductRow productRow;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        productRow = new ProductRow(1L, "Jacket", "Something indicate", 100.0, 1L, 2.0, 10, 5, 3L);
+        when(activePromotionIndex.findValidSnapshot()).thenReturn(new ActivePromotionIndex.Snapshot(Map.of(), LocalDate.MAX));
+    }
+
+    @Test
+    @DisplayName("Find product by ID - Priced with the active seasonal promotion")
+    void findProductById_withEffectivePrice() {
+        PromotionEntity seasonal = new PromotionEntity(1L, 1L, 0.2, "SEASONAL", 1,
+                LocalDate.now().minusDays(1), LocalDate.now().plusDays(1), true);
+        when(productRepository.findById(1L)).thenReturn(Mono.just(productRow));
+        when(activePromotionIndex.findValidSnapshot())
+                .thenReturn(new ActivePromotionIndex.Snapshot(Map.of(1L, List.of(seasonal)), LocalDate.MAX));
+
+        ProductEntity product = reactiveCatalogServiceImpl.findProductById(1L).block();
+
+        assertNotNull(product);
+        assertEquals(1L, product.getId());
+        assertEquals(3L, product.getVersion());
+        assertEquals(80.0, product.getEffectivePrice());
+    }
+
+    @Test
+    @DisplayName("Find product by ID - Expired promotions are rebuilt off the calling thread")
+    void findProductById_expiredPromotionsRebuiltOnBoundedElastic() {
+        AtomicReference<String> rebuildThread = new AtomicReference<>();
+        when(activePromotionIndex.findValidSnapshot()).thenReturn(null);
+        when(activePromotionIndex.currentSnapshot()).thenAnswer(invocation -> {
+            rebuildThread.set(Thread.currentThread().getName());
+            return new ActivePromotionIndex.Snapshot(Map.of(), LocalDate.MAX);
+        });
+        when(productRepository.findById(1L)).thenReturn(Mono.just(productRow));
+
+        ProductEntity product = reactiveCatalogServiceImpl.findProductById(1L).block();
+
+        assertEquals(100.0, product.getEffectivePrice());
+        assertTrue(rebuildThread.get().startsWith("boundedElastic"), rebuildThread.get());
+        verify(activePromotionIndex, never()).findActivePromotionByCategoryIdAndType(anyLong(), anyString());
+    }
+
+    @Test
+    @DisplayName("Find product by ID - Not found")
+    void findProductById_notFound() {
+        when(productRepository.findById(1L)).thenReturn(Mono.empty());
+
+        Mono<ProductEntity> product = reactiveCatalogServiceImpl.findProductById(1L);
+
+        NotFoundProduct exception = assertThrows(NotFoundProduct.class, product::block);
+        assertEquals("Product not found with ID: 1", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Find products by IDs - Repeated IDs are matched once")
+    void findProductsByIds_duplicates() {
+        when(productRepository.findAllById(List.of(1L, 1L))).thenReturn(Flux.just(productRow));
+
+        List<ProductEntity> products = reactiveCatalogServiceImpl.findProductsByIds(List.of(1L, 1L)).collectList().block();
+
+        assertEquals(1, products.size());
+    }
+
+    @Test
+    @DisplayName("Find products by IDs - Missing ID")
+    void findProductsByIds_missing() {
+        when(productRepository.findAllById(List.of(1L, 2L))).thenReturn(Flux.just(productRow));
+
+        Flux<ProductEntity> products = reactiveCatalogServiceImpl.findProductsByIds(List.of(1L, 2L));
+
+        NotFoundProduct exception = assertThrows(NotFoundProduct.class, products::blockLast);
+        assertEquals("One or more product IDs not found", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Require category - Unknown category")
+    void requireCategory_notFound() {
+        when(categoryRepository.existsById(9L)).thenReturn(Mono.just(false));
+
+        Mono<Void> check = reactiveCatalogServiceImpl.requireCategory(9L);
+
+        NotFoundCategory exception = assertThrows(NotFoundCategory.class, check::block);
+        assertEquals("Category not found with ID: 9", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Find products by category - Pulled no faster than requested")
+    void findProductsByCategoryId_honoursDemand() {
+        ProductRow second = new ProductRow(2L, "Boots", "Leather", 50.0, 1L, 1.0, 5, 1, 0L);
+        AtomicInteger emittedRows = new AtomicInteger();
+        when(productRepository.findByCategoryIdOrderById(1L))
+                .thenReturn(Flux.just(productRow, second).doOnNext(row -> emittedRows.incrementAndGet()));
+
+        List<ProductEntity> first = reactiveCatalogServiceImpl.findProductsByCategoryId(1L).limitRate(1).take(1).collectList().block();
+
+        assertEquals(List.of(1L), first.stream().map(ProductEntity::getId).toList());
+        assertEquals(1, emittedRows.get());
+    }
+}
@@ -0,0 +1,110 @@
+package com.gftworkshopcatalog.startup;
+
+import com.gftworkshopcatalog.cache.ActivePromotionIndex;
+import com.gftworkshopcatalog.cache.ProductCache;
+import com.gftworkshopcatalog.cache.ProductNameIndex;
+import com.gftworkshopcatalog.model.ProductEntity;
+import com.gftworkshopcatalog.repositories.ProductRepository;
+import com.gftworkshopcatalog.scheduling.PromotionLifecycleScheduler;
+import com.gftworkshopcatalog.search.ProductSearchIndex;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.LivenessState;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CatalogWarmupTest {
+
+    @Mock
+    private PromotionLifecycleScheduler promotionLifecycleScheduler;
+    @Mock
+    private ActivePromotionIndex activePromotionIndex;
+    @Mock
+    private ProductRepository productRepository;
+    @Mock
+    private ProductCache productCache;
+    @Mock
+    private ProductNameIndex productNameIndex;
+    @Mock
+    private ProductSearchIndex productSearchIndex;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private SimpleMeterRegistry meterRegistry;
+    private CatalogWarmup catalogWarmup;
+    private WarmupHealthIndicator warmupHealthIndicator;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        catalogWarmup = new CatalogWarmup(promotionLifecycleScheduler, activePromotionIndex, productRepository, productCache, productNameIndex,
+                productSearchIndex, meterRegistry, eventPublisher, 10, 3, Duration.ofMillis(1));
+        warmupHealthIndicator = new WarmupHealthIndicator(catalogWarmup);
+    }
+
+    @Test
+    @DisplayName("Warmup - Out of service until every phase has run")
+    void warmUp_readyAfterAllPhases() {
+        List<ProductEntity> products = List.of(new ProductEntity(1L, "Jacket", "Warm", 58.79, 1L, 3.71, 26, 10));
+        when(productRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(10))).thenReturn(products);
+
+        assertEquals(Status.OUT_OF_SERVICE, warmupHealthIndicator.health().getStatus());
+
+        catalogWarmup.warmUp();
+
+        assertEquals(Status.UP, warmupHealthIndicator.health().getStatus());
+        verify(productRepository).normalizeMissingNames();
+        verify(promotionLifecycleScheduler).loadTransitions();
+        verify(activePromotionIndex).refresh();
+        verify(productCache).preload(argThat(loader -> products.equals(loader.get())));
+        verify(productNameIndex).rebuild();
+        verify(productSearchIndex).rebuild();
+        for (String phase : List.of("product-names", "promotion-lifecycle", "promotion-index", "product-cache",
+                "product-name-index", "product-search-index", "total")) {
+            assertEquals(1, meterRegistry.get("catalog.startup.phase").tag("phase", phase).timer().count(), phase);
+        }
+    }
+
+    @Test
+    @DisplayName("Warmup - Failing phase retried, then reported as down and broken")
+    void warmUp_failureReportedDown() {
+        doThrow(new IllegalStateException("Database unavailable")).when(activePromotionIndex).refresh();
+
+        catalogWarmup.warmUp();
+
+        assertEquals(Status.DOWN, warmupHealthIndicator.health().getStatus());
+        assertEquals("promotion-index", warmupHealthIndicator.health().getDetails().get("phase"));
+        verify(activePromotionIndex, times(3)).refresh();
+        ArgumentCaptor<ApplicationEvent> event = ArgumentCaptor.forClass(ApplicationEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(LivenessState.BROKEN, ((AvailabilityChangeEvent<?>) event.getValue()).getState());
+        verifyNoInteractions(productCache);
+    }
+
+    @Test
+    @DisplayName("Warmup - Transient failure recovered by a retry")
+    void warmUp_transientFailureRetried() {
+        doThrow(new IllegalStateException("Database unavailable")).doNothing().when(activePromotionIndex).refresh();
+
+        catalogWarmup.warmUp();
+
+        assertEquals(Status.UP, warmupHealthIndicator.health().getStatus());
+        verify(activePromotionIndex, times(2)).refresh();
+        verifyNoInteractions(eventPublisher);
+    }
+}
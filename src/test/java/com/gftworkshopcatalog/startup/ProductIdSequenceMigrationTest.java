@@ -0,0 +1,42 @@
+package com.gftworkshopcatalog.startup;
+
+import com.gftworkshopcatalog.model.ProductEntity;
+import com.gftworkshopcatalog.repositories.ProductRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:productIdSequence",
+        "spring.jpa.show-sql=false"
+})
+class ProductIdSequenceMigrationTest {
+
+    @Autowired
+    private ProductIdSequenceMigration productIdSequenceMigration;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Migrate - New products get IDs above rows written outside the sequence")
+    void migrate_movesSequencePastExistingIds() {
+        jdbcTemplate.update("INSERT INTO products (product_id, name, description, price, category_id, weight, current_stock, min_stock) "
+                + "VALUES (5000, 'Legacy Kite', 'Imported before the sequence', 10, 2, 1.0, 5, 1)");
+
+        productIdSequenceMigration.migrate();
+        ProductEntity first = productRepository.save(new ProductEntity(null, "Kite", "Description", 10.0, 2L, 1.0, 5, 1));
+        productIdSequenceMigration.migrate();
+        ProductEntity second = productRepository.save(new ProductEntity(null, "Kite", "Description", 10.0, 2L, 1.0, 5, 1));
+
+        assertTrue(first.getId() > 5000, "ID " + first.getId() + " collides with existing rows");
+        assertTrue(second.getId() > first.getId(), "The sequence must never move backwards");
+    }
+}